@@ -0,0 +1,114 @@
+package io.swagger.client;
+
+import com.squareup.okhttp.Request;
+import io.swagger.client.model.LiftRide;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the requests the load client sends, the way the generated call builders did it
+ * (parameter lists and maps, header selection and media type parsing on every call) against the
+ * endpoint prototypes. Run with the gc profiler (see the jmh task) and compare gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBuildingBenchmark {
+    private static final PathTemplate SKIER_DAY_VERTICAL_PATH =
+            PathTemplate.compile("/skiers/{resortID}/days/{dayID}/skiers/{skierID}");
+    private static final RequestPrototype SKIER_DAY_VERTICAL_REQUEST =
+            RequestPrototype.create("GET", "application/json", "application/json");
+    private static final RequestPrototype TOP_TEN_VERT_REQUEST =
+            RequestPrototype.create("GET", "application/json", "application/json", "resort", "dayID");
+    private static final RequestPrototype WRITE_NEW_LIFT_RIDE_REQUEST =
+            RequestPrototype.create("POST", "application/json", "application/json");
+
+    private ApiClient apiClient;
+    private List<String> resorts;
+    private List<String> days;
+    private LiftRide liftRide;
+
+    @Setup
+    public void setUp() {
+        apiClient = new ApiClient().setBasePath("http://localhost:8080/skiers-server");
+        resorts = Collections.singletonList("Mission Ridge");
+        days = Collections.singletonList("1");
+        liftRide = new LiftRide().resortID("Mission Ridge").dayID("1").skierID("12345").time("217").liftID("21");
+    }
+
+    @Benchmark
+    public Request skierDayVerticalGenerated() throws ApiException {
+        String path = SKIER_DAY_VERTICAL_PATH.expand("Mission Ridge", "1", "12345");
+        return generatedRequest(path, "GET", new ArrayList<Pair>(), null, "");
+    }
+
+    @Benchmark
+    public Request skierDayVerticalPrototype() throws ApiException {
+        String path = SKIER_DAY_VERTICAL_PATH.expand("Mission Ridge", "1", "12345");
+        return apiClient.buildRequest(SKIER_DAY_VERTICAL_REQUEST, path, null, null, null);
+    }
+
+    @Benchmark
+    public Request topTenVertGenerated() throws ApiException {
+        List<Pair> collectionQueryParams = new ArrayList<Pair>();
+        collectionQueryParams.addAll(apiClient.parameterToPairs("multi", "resort", resorts));
+        collectionQueryParams.addAll(apiClient.parameterToPairs("multi", "dayID", days));
+        return generatedRequest("/resort/day/top10vert", "GET", collectionQueryParams, null, "");
+    }
+
+    @Benchmark
+    public Request topTenVertPrototype() throws ApiException {
+        return apiClient.buildRequest(TOP_TEN_VERT_REQUEST, "/resort/day/top10vert", null, null, null, resorts, days);
+    }
+
+    @Benchmark
+    public Request writeNewLiftRideGenerated() throws ApiException {
+        return generatedRequest("/skiers/liftrides", "POST", new ArrayList<Pair>(), liftRide, "application/json");
+    }
+
+    @Benchmark
+    public Request writeNewLiftRidePrototype() throws ApiException {
+        return apiClient.buildRequest(WRITE_NEW_LIFT_RIDE_REQUEST, "/skiers/liftrides", liftRide, null, null);
+    }
+
+    /**
+     * The body of a generated call builder before prototypes, minus the path expansion.
+     */
+    private Request generatedRequest(String path, String method, List<Pair> collectionQueryParams,
+                                     Object body, String contentType) throws ApiException {
+        List<Pair> queryParams = new ArrayList<Pair>();
+        Map<String, String> headerParams = new HashMap<String, String>();
+        Map<String, Object> formParams = new HashMap<String, Object>();
+
+        final String[] accepts = {
+            "application/json"
+        };
+        final String accept = apiClient.selectHeaderAccept(accepts);
+        if (accept != null) headerParams.put("Accept", accept);
+
+        final String[] contentTypes = contentType.isEmpty() ? new String[0] : new String[] {contentType};
+        headerParams.put("Content-Type", apiClient.selectHeaderContentType(contentTypes));
+
+        String[] authNames = new String[] {  };
+        return apiClient.buildRequest(path, method, queryParams, collectionQueryParams, body, headerParams,
+                formParams, authNames, null);
+    }
+}
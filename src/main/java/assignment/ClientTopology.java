@@ -0,0 +1,26 @@
+package assignment;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum ClientTopology {
+    SHARED("shared"),
+    SHARDED("sharded"),
+    PER_WORKER("perWorker");
+
+    private final String propertyValue;
+
+    ClientTopology(String propertyValue) {
+        this.propertyValue = propertyValue;
+    }
+
+    public String getPropertyValue() {
+        return propertyValue;
+    }
+
+    public static Optional<ClientTopology> fromPropertyValue(String rawValue) {
+        return Arrays.stream(values())
+                .filter(topology -> topology.propertyValue.equalsIgnoreCase(rawValue.trim()))
+                .findFirst();
+    }
+}
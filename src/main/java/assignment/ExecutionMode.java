@@ -0,0 +1,50 @@
+package assignment;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+public enum ExecutionMode {
+    PLATFORM("platform"),
+    VIRTUAL("virtual"),
+    ASYNC("async");
+
+    private static final String VIRTUAL_THREAD_BUILDER_METHOD_NAME = "ofVirtual";
+    private static final String THREAD_BUILDER_CLASS_NAME = "java.lang.Thread$Builder";
+    private static final String THREAD_FACTORY_METHOD_NAME = "factory";
+
+    private final String propertyValue;
+
+    ExecutionMode(String propertyValue) {
+        this.propertyValue = propertyValue;
+    }
+
+    public String getPropertyValue() {
+        return propertyValue;
+    }
+
+    public static Optional<ExecutionMode> fromPropertyValue(String rawValue) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.propertyValue.equalsIgnoreCase(rawValue.trim()))
+                .findFirst();
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return virtualThreadFactory().isPresent();
+    }
+
+    /**
+     * @return a factory for virtual threads, or empty when this JVM has none; the client is compiled for Java 8,
+     * so the thread builder is looked up reflectively
+     */
+    public static Optional<ThreadFactory> virtualThreadFactory() {
+        try {
+            Object virtualThreadBuilder = Thread.class.getMethod(VIRTUAL_THREAD_BUILDER_METHOD_NAME).invoke(null);
+            return Optional.of((ThreadFactory) Class.forName(THREAD_BUILDER_CLASS_NAME)
+                    .getMethod(THREAD_FACTORY_METHOD_NAME)
+                    .invoke(virtualThreadBuilder));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package assignment;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum KeyDistribution {
+    UNIFORM("uniform"),
+    ZIPFIAN("zipfian"),
+    HOTSPOT("hotspot"),
+    SEQUENTIAL("sequential");
+
+    private final String propertyValue;
+
+    KeyDistribution(String propertyValue) {
+        this.propertyValue = propertyValue;
+    }
+
+    public String getPropertyValue() {
+        return propertyValue;
+    }
+
+    public static Optional<KeyDistribution> fromPropertyValue(String rawValue) {
+        return Arrays.stream(values())
+                .filter(distribution -> distribution.propertyValue.equalsIgnoreCase(rawValue.trim()))
+                .findFirst();
+    }
+}
@@ -0,0 +1,25 @@
+package assignment;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum LoadMode {
+    CLOSED("closed"),
+    OPEN("open");
+
+    private final String propertyValue;
+
+    LoadMode(String propertyValue) {
+        this.propertyValue = propertyValue;
+    }
+
+    public String getPropertyValue() {
+        return propertyValue;
+    }
+
+    public static Optional<LoadMode> fromPropertyValue(String rawValue) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.propertyValue.equalsIgnoreCase(rawValue.trim()))
+                .findFirst();
+    }
+}
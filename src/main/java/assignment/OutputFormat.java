@@ -0,0 +1,32 @@
+package assignment;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum OutputFormat {
+    CSV("csv", ".csv"),
+    BINARY("binary", ".bin"),
+    NONE("none", "");
+
+    private final String propertyValue;
+    private final String fileExtension;
+
+    OutputFormat(String propertyValue, String fileExtension) {
+        this.propertyValue = propertyValue;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getPropertyValue() {
+        return propertyValue;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static Optional<OutputFormat> fromPropertyValue(String rawValue) {
+        return Arrays.stream(values())
+                .filter(format -> format.propertyValue.equalsIgnoreCase(rawValue.trim()))
+                .findFirst();
+    }
+}
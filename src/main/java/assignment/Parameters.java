@@ -9,22 +9,51 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.SplittableRandom;
 
 @Getter
 @Builder
 @ToString
 @AllArgsConstructor
 public class Parameters {
+    public static final List<Double> DEFAULT_PERCENTILES =
+            Collections.unmodifiableList(Arrays.asList(50.0, 90.0, 95.0, 99.0, 99.9, 99.99));
+
     private static final String MAX_THREADS_PROP_NAME = "maxThreads";
     private static final String NUM_SKIERS_PROP_NAME = "numSkiers";
     private static final String NUM_SKI_LIFTS_PROP_NAME = "numLifts";
     private static final String SKI_DAY_PROP_NAME = "skiDay";
     private static final String RESORT_NAME_PROP_NAME = "resortName";
     private static final String SERVER_ADDRESS_PROP_NAME = "hostServerAddress";
+    private static final String LOAD_MODE_PROP_NAME = "loadMode";
+    private static final String EXECUTION_MODE_PROP_NAME = "executionMode";
+    private static final String MAX_IN_FLIGHT_PER_WORKER_PROP_NAME = "maxInFlightPerWorker";
+    private static final String CLIENT_TOPOLOGY_PROP_NAME = "clientTopology";
+    private static final String CLIENT_SHARDS_PROP_NAME = "clientShards";
+    private static final String CONNECTION_POOL_SIZE_PROP_NAME = "connectionPoolSize";
+    private static final String KEEP_ALIVE_SECONDS_PROP_NAME = "keepAliveSeconds";
+    private static final String DISPATCHER_MAX_REQUESTS_PROP_NAME = "dispatcherMaxRequests";
+    private static final String DISPATCHER_MAX_REQUESTS_PER_HOST_PROP_NAME = "dispatcherMaxRequestsPerHost";
+    private static final String PHASE_ONE_RATE_PROP_NAME = "phaseOneRate";
+    private static final String PHASE_TWO_RATE_PROP_NAME = "phaseTwoRate";
+    private static final String PHASE_THREE_RATE_PROP_NAME = "phaseThreeRate";
+    private static final String RECORDER_CAPACITY_PROP_NAME = "recorderCapacity";
+    private static final String REPORT_INTERVAL_SECONDS_PROP_NAME = "reportIntervalSeconds";
+    private static final String OUTPUT_FORMAT_PROP_NAME = "outputFormat";
+    private static final String PERCENTILES_PROP_NAME = "percentiles";
+    private static final String SCHEDULE_FILE_PROP_NAME = "scheduleFile";
+    private static final String SKIER_DISTRIBUTION_PROP_NAME = "skierDistribution";
+    private static final String ZIPF_EXPONENT_PROP_NAME = "zipfExponent";
+    private static final String HOTSPOT_TRAFFIC_PERCENT_PROP_NAME = "hotspotTrafficPercent";
+    private static final String HOTSPOT_KEY_PERCENT_PROP_NAME = "hotspotKeyPercent";
+    private static final String SEED_PROP_NAME = "seed";
+    private static final String REQUEST_STREAM_FILE_PROP_NAME = "requestStreamFile";
     private static final List<String> REQUIRED_PROPERTIES = Arrays.asList(
             NUM_SKI_LIFTS_PROP_NAME,
             NUM_SKIERS_PROP_NAME,
@@ -32,7 +61,22 @@ public class Parameters {
             SERVER_ADDRESS_PROP_NAME,
             MAX_THREADS_PROP_NAME);
     private static final List<String> REQUIRED_PROPERTIES_WITH_INT_VALUES =
-            Arrays.asList(NUM_SKIERS_PROP_NAME, MAX_THREADS_PROP_NAME, NUM_SKI_LIFTS_PROP_NAME, SKI_DAY_PROP_NAME);
+            Arrays.asList(
+                    NUM_SKIERS_PROP_NAME,
+                    MAX_THREADS_PROP_NAME,
+                    NUM_SKI_LIFTS_PROP_NAME,
+                    SKI_DAY_PROP_NAME,
+                    PHASE_ONE_RATE_PROP_NAME,
+                    PHASE_TWO_RATE_PROP_NAME,
+                    PHASE_THREE_RATE_PROP_NAME,
+                    MAX_IN_FLIGHT_PER_WORKER_PROP_NAME,
+                    CLIENT_SHARDS_PROP_NAME,
+                    CONNECTION_POOL_SIZE_PROP_NAME,
+                    KEEP_ALIVE_SECONDS_PROP_NAME,
+                    DISPATCHER_MAX_REQUESTS_PROP_NAME,
+                    DISPATCHER_MAX_REQUESTS_PER_HOST_PROP_NAME,
+                    RECORDER_CAPACITY_PROP_NAME,
+                    REPORT_INTERVAL_SECONDS_PROP_NAME);
 
     private static final int MAX_SKI_DAY = 366;
     private static final int MIN_NUM_LIFTS = 5;
@@ -41,8 +85,26 @@ public class Parameters {
     private static final String DEFAULT_LIFT_COUNT = "40";
     private static final String DEFAULT_SKIER_COUNT = "50000";
     private static final String DEFAULT_DAY = "1";
+    private static final String DEFAULT_PHASE_ONE_RATE = "250";
+    private static final String DEFAULT_PHASE_TWO_RATE = "1000";
+    private static final String DEFAULT_PHASE_THREE_RATE = "250";
+    private static final String DEFAULT_MAX_IN_FLIGHT_PER_WORKER = "32";
+    private static final int MAXIMUM_IN_FLIGHT_PER_WORKER_LIMIT = 4096;
+    private static final String DEFAULT_CLIENT_SHARDS = "4";
+    private static final String DEFAULT_CONNECTION_POOL_SIZE = "64";
+    private static final String DEFAULT_KEEP_ALIVE_SECONDS = "300";
+    private static final String AUTO_SIZED_DISPATCHER_LIMIT = "0";
+    private static final String DEFAULT_RECORDER_CAPACITY = "512";
+    private static final int MAXIMUM_RECORDER_CAPACITY = 1 << 20;
+    private static final String DEFAULT_REPORT_INTERVAL_SECONDS = "10";
+    private static final String PERCENTILE_SEPARATOR = ",";
+    private static final double MAXIMUM_PERCENT = 100.0;
+    private static final String DEFAULT_ZIPF_EXPONENT = "0.99";
+    private static final String DEFAULT_HOTSPOT_TRAFFIC_PERCENT = "80";
+    private static final String DEFAULT_HOTSPOT_KEY_PERCENT = "20";
     private static final int MINIMUM_THREAD_COUNT_LIMIT = 4;
     private static final int MAXIMUM_THREAD_COUNT_LIMIT = 256;
+    private static final int MAXIMUM_VIRTUAL_THREAD_COUNT_LIMIT = 65536;
     private static final String DEFAULT_FILE_NAME = "output_file";
     private static final String DEFAULT_SERVER_ADDRESS =
             "http://ec2-18-236-236-150.us-west-2.compute.amazonaws.com:8080/SkiServerWar";
@@ -53,6 +115,31 @@ public class Parameters {
     private int skiDayNumber;
     private String resortId;
     private String hostServerAddress;
+    private LoadMode loadMode;
+    private ExecutionMode executionMode;
+    private int maxInFlightPerWorker;
+    private ClientTopology clientTopology;
+    private int clientShards;
+    private int connectionPoolSize;
+    private int keepAliveSeconds;
+    private int dispatcherMaxRequests;
+    private int dispatcherMaxRequestsPerHost;
+    private int recorderCapacity;
+    private int reportIntervalSeconds;
+    private OutputFormat outputFormat;
+    private List<Double> percentiles;
+    private int phaseOneRate;
+    private int phaseTwoRate;
+    private int phaseThreeRate;
+    private WorkloadSchedule workloadSchedule;
+    private KeyDistribution skierDistribution;
+    private double zipfExponent;
+    private double hotspotTrafficPercent;
+    private double hotspotKeyPercent;
+    /** Root of the run's random hierarchy; chosen at random when not configured. */
+    private long seed;
+    /** Null unless the generated request stream should be written out. */
+    private String requestStreamFile;
 
     public static Optional<Parameters> parsePropertiesFile(String filePath) {
         Properties properties = new Properties();
@@ -79,6 +166,53 @@ public class Parameters {
             String resort = properties.getProperty(RESORT_NAME_PROP_NAME, DEFAULT_RESORT_ID);
             String serverAddress = properties.getProperty(SERVER_ADDRESS_PROP_NAME, DEFAULT_SERVER_ADDRESS);
 
+            LoadMode loadMode = parseLoadMode(properties.getProperty(LOAD_MODE_PROP_NAME));
+            ExecutionMode executionMode = parseExecutionMode(properties.getProperty(EXECUTION_MODE_PROP_NAME));
+            int maxInFlightPerWorker = Integer.parseInt(
+                    properties.getProperty(MAX_IN_FLIGHT_PER_WORKER_PROP_NAME, DEFAULT_MAX_IN_FLIGHT_PER_WORKER));
+
+            ClientTopology clientTopology = parseClientTopology(properties.getProperty(CLIENT_TOPOLOGY_PROP_NAME));
+            int clientShards =
+                    Integer.parseInt(properties.getProperty(CLIENT_SHARDS_PROP_NAME, DEFAULT_CLIENT_SHARDS));
+            int connectionPoolSize = Integer.parseInt(
+                    properties.getProperty(CONNECTION_POOL_SIZE_PROP_NAME, DEFAULT_CONNECTION_POOL_SIZE));
+            int keepAliveSeconds = Integer.parseInt(
+                    properties.getProperty(KEEP_ALIVE_SECONDS_PROP_NAME, DEFAULT_KEEP_ALIVE_SECONDS));
+            int dispatcherMaxRequests = Integer.parseInt(
+                    properties.getProperty(DISPATCHER_MAX_REQUESTS_PROP_NAME, AUTO_SIZED_DISPATCHER_LIMIT));
+            int dispatcherMaxRequestsPerHost = Integer.parseInt(
+                    properties.getProperty(DISPATCHER_MAX_REQUESTS_PER_HOST_PROP_NAME, AUTO_SIZED_DISPATCHER_LIMIT));
+            int recorderCapacity = Integer.parseInt(
+                    properties.getProperty(RECORDER_CAPACITY_PROP_NAME, DEFAULT_RECORDER_CAPACITY));
+            int reportIntervalSeconds = Integer.parseInt(
+                    properties.getProperty(REPORT_INTERVAL_SECONDS_PROP_NAME, DEFAULT_REPORT_INTERVAL_SECONDS));
+            OutputFormat outputFormat = parseOutputFormat(properties.getProperty(OUTPUT_FORMAT_PROP_NAME));
+            List<Double> percentiles = parsePercentiles(properties.getProperty(PERCENTILES_PROP_NAME));
+            int phaseOneRate =
+                    Integer.parseInt(properties.getProperty(PHASE_ONE_RATE_PROP_NAME, DEFAULT_PHASE_ONE_RATE));
+            int phaseTwoRate =
+                    Integer.parseInt(properties.getProperty(PHASE_TWO_RATE_PROP_NAME, DEFAULT_PHASE_TWO_RATE));
+            int phaseThreeRate =
+                    Integer.parseInt(properties.getProperty(PHASE_THREE_RATE_PROP_NAME, DEFAULT_PHASE_THREE_RATE));
+            WorkloadSchedule workloadSchedule = parseWorkloadSchedule(
+                    properties.getProperty(SCHEDULE_FILE_PROP_NAME),
+                    loadMode,
+                    phaseOneRate,
+                    phaseTwoRate,
+                    phaseThreeRate);
+            KeyDistribution skierDistribution =
+                    parseKeyDistribution(properties.getProperty(SKIER_DISTRIBUTION_PROP_NAME));
+            double zipfExponent = parsePositiveDouble(
+                    ZIPF_EXPONENT_PROP_NAME, properties.getProperty(ZIPF_EXPONENT_PROP_NAME, DEFAULT_ZIPF_EXPONENT));
+            double hotspotTrafficPercent = parsePercent(
+                    HOTSPOT_TRAFFIC_PERCENT_PROP_NAME,
+                    properties.getProperty(HOTSPOT_TRAFFIC_PERCENT_PROP_NAME, DEFAULT_HOTSPOT_TRAFFIC_PERCENT));
+            double hotspotKeyPercent = parsePercent(
+                    HOTSPOT_KEY_PERCENT_PROP_NAME,
+                    properties.getProperty(HOTSPOT_KEY_PERCENT_PROP_NAME, DEFAULT_HOTSPOT_KEY_PERCENT));
+            long seed = parseSeed(properties.getProperty(SEED_PROP_NAME));
+            String requestStreamFile = properties.getProperty(REQUEST_STREAM_FILE_PROP_NAME);
+
             return Parameters.builder()
                     .hostServerAddress(serverAddress)
                     .liftCount(liftCount)
@@ -86,32 +220,172 @@ public class Parameters {
                     .skiDayNumber(skiDayNumber)
                     .maxThreadCount(maxThreadCount)
                     .resortId(resort)
+                    .loadMode(loadMode)
+                    .executionMode(executionMode)
+                    .maxInFlightPerWorker(maxInFlightPerWorker)
+                    .clientTopology(clientTopology)
+                    .clientShards(clientShards)
+                    .connectionPoolSize(connectionPoolSize)
+                    .keepAliveSeconds(keepAliveSeconds)
+                    .dispatcherMaxRequests(dispatcherMaxRequests)
+                    .dispatcherMaxRequestsPerHost(dispatcherMaxRequestsPerHost)
+                    .recorderCapacity(recorderCapacity)
+                    .reportIntervalSeconds(reportIntervalSeconds)
+                    .outputFormat(outputFormat)
+                    .percentiles(percentiles)
+                    .phaseOneRate(phaseOneRate)
+                    .phaseTwoRate(phaseTwoRate)
+                    .phaseThreeRate(phaseThreeRate)
+                    .workloadSchedule(workloadSchedule)
+                    .skierDistribution(skierDistribution)
+                    .zipfExponent(zipfExponent)
+                    .hotspotTrafficPercent(hotspotTrafficPercent)
+                    .hotspotKeyPercent(hotspotKeyPercent)
+                    .seed(seed)
+                    .requestStreamFile(requestStreamFile == null ? null : requestStreamFile.trim())
                     .build();
         }
         throw new IllegalArgumentException("Invalid Properties Provided.");
     }
 
+    private static LoadMode parseLoadMode(String rawLoadMode) {
+        if (rawLoadMode == null) {
+            return LoadMode.CLOSED;
+        }
+        return LoadMode.fromPropertyValue(rawLoadMode)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load mode: " + rawLoadMode));
+    }
+
+    private static ExecutionMode parseExecutionMode(String rawExecutionMode) {
+        if (rawExecutionMode == null) {
+            return ExecutionMode.PLATFORM;
+        }
+        ExecutionMode executionMode = ExecutionMode.fromPropertyValue(rawExecutionMode)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown execution mode: " + rawExecutionMode));
+        if (executionMode == ExecutionMode.VIRTUAL && !ExecutionMode.virtualThreadsAvailable()) {
+            throw new IllegalArgumentException(
+                    "Execution mode virtual needs a JVM with virtual threads, this is Java "
+                            + System.getProperty("java.specification.version"));
+        }
+        return executionMode;
+    }
+
+    private static ClientTopology parseClientTopology(String rawClientTopology) {
+        if (rawClientTopology == null) {
+            return ClientTopology.SHARED;
+        }
+        return ClientTopology.fromPropertyValue(rawClientTopology)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown client topology: " + rawClientTopology));
+    }
+
+    private static OutputFormat parseOutputFormat(String rawOutputFormat) {
+        if (rawOutputFormat == null) {
+            return OutputFormat.CSV;
+        }
+        return OutputFormat.fromPropertyValue(rawOutputFormat)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown output format: " + rawOutputFormat));
+    }
+
+    private static KeyDistribution parseKeyDistribution(String rawKeyDistribution) {
+        if (rawKeyDistribution == null) {
+            return KeyDistribution.UNIFORM;
+        }
+        return KeyDistribution.fromPropertyValue(rawKeyDistribution)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown key distribution: " + rawKeyDistribution));
+    }
+
+    private static long parseSeed(String rawSeed) {
+        if (rawSeed == null) {
+            return new SplittableRandom().nextLong();
+        }
+        try {
+            return Long.parseLong(rawSeed.trim());
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException("seed should be a long: " + rawSeed, nfe);
+        }
+    }
+
+    private static double parsePositiveDouble(String propName, String rawValue) {
+        double value = Double.parseDouble(rawValue.trim());
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(propName + " must be above 0: " + rawValue);
+        }
+        return value;
+    }
+
+    private static double parsePercent(String propName, String rawValue) {
+        double value = parsePositiveDouble(propName, rawValue);
+        if (value > MAXIMUM_PERCENT) {
+            throw new IllegalArgumentException(propName + " must be at most 100: " + rawValue);
+        }
+        return value;
+    }
+
+    private static WorkloadSchedule parseWorkloadSchedule(
+            String rawScheduleFile, LoadMode loadMode, int phaseOneRate, int phaseTwoRate, int phaseThreeRate) {
+        if (rawScheduleFile == null) {
+            return WorkloadSchedule.defaultSchedule(phaseOneRate, phaseTwoRate, phaseThreeRate);
+        }
+        WorkloadSchedule workloadSchedule = WorkloadSchedule.parseScheduleFile(rawScheduleFile.trim());
+        if (loadMode == LoadMode.OPEN
+                && workloadSchedule.getPhases().stream().anyMatch(phase -> phase.getRate() <= 0)) {
+            throw new IllegalArgumentException("Every scheduled phase needs a rate above 0 in open-loop mode.");
+        }
+        return workloadSchedule;
+    }
+
+    private static List<Double> parsePercentiles(String rawPercentiles) {
+        if (rawPercentiles == null) {
+            return DEFAULT_PERCENTILES;
+        }
+        List<Double> percentiles = new ArrayList<>();
+        for (String rawPercentile : rawPercentiles.split(PERCENTILE_SEPARATOR)) {
+            double percentile = Double.parseDouble(rawPercentile.trim());
+            if (percentile <= 0 || percentile > MAXIMUM_PERCENT) {
+                throw new IllegalArgumentException("Percentiles must be above 0 and at most 100: " + rawPercentile);
+            }
+            percentiles.add(percentile);
+        }
+        return percentiles;
+    }
+
     private static boolean requiredPropertiesPresent(Properties properties) {
         boolean allPropsPresent = properties.stringPropertyNames().containsAll(REQUIRED_PROPERTIES);
         boolean allIntPropsPresent = REQUIRED_PROPERTIES_WITH_INT_VALUES.stream()
-                .allMatch(intProp -> validateIntegerProperty(intProp, properties.getProperty(intProp)));
+                .allMatch(intProp -> validateIntegerProperty(intProp, properties.getProperty(intProp), properties));
 
         return allPropsPresent && allIntPropsPresent;
     }
 
-    private static boolean validateIntegerProperty(String propName, String rawPropertyValue) {
+    private static boolean validateIntegerProperty(String propName, String rawPropertyValue, Properties properties) {
         if (rawPropertyValue != null) {
             try {
                 int value = Integer.parseInt(rawPropertyValue);
                 switch(propName) {
                     case MAX_THREADS_PROP_NAME:
-                        return value >= MINIMUM_THREAD_COUNT_LIMIT && value <= MAXIMUM_THREAD_COUNT_LIMIT;
+                        return value >= MINIMUM_THREAD_COUNT_LIMIT && value <= maximumThreadCountLimit(properties);
                     case SKI_DAY_PROP_NAME:
                         return value >= 1 && value <= MAX_SKI_DAY;
                     case NUM_SKIERS_PROP_NAME:
                         return value >= 0;
                     case NUM_SKI_LIFTS_PROP_NAME:
                         return value >= MIN_NUM_LIFTS && value <= MAX_NUM_LIFTS;
+                    case PHASE_ONE_RATE_PROP_NAME:
+                    case PHASE_TWO_RATE_PROP_NAME:
+                    case PHASE_THREE_RATE_PROP_NAME:
+                        return value > 0;
+                    case MAX_IN_FLIGHT_PER_WORKER_PROP_NAME:
+                        return value > 0 && value <= MAXIMUM_IN_FLIGHT_PER_WORKER_LIMIT;
+                    case CLIENT_SHARDS_PROP_NAME:
+                    case CONNECTION_POOL_SIZE_PROP_NAME:
+                    case KEEP_ALIVE_SECONDS_PROP_NAME:
+                        return value > 0;
+                    case DISPATCHER_MAX_REQUESTS_PROP_NAME:
+                    case DISPATCHER_MAX_REQUESTS_PER_HOST_PROP_NAME:
+                    case REPORT_INTERVAL_SECONDS_PROP_NAME:
+                        return value >= 0;
+                    case RECORDER_CAPACITY_PROP_NAME:
+                        return value > 0 && value <= MAXIMUM_RECORDER_CAPACITY;
                     default:
                         throw new IllegalArgumentException("Unknown property present.");
                 }
@@ -123,6 +397,13 @@ public class Parameters {
         return true;
     }
 
+    private static int maximumThreadCountLimit(Properties properties) {
+        String rawExecutionMode = properties.getProperty(EXECUTION_MODE_PROP_NAME);
+        boolean virtualThreads = rawExecutionMode != null
+                && ExecutionMode.fromPropertyValue(rawExecutionMode).orElse(null) == ExecutionMode.VIRTUAL;
+        return virtualThreads ? MAXIMUM_VIRTUAL_THREAD_COUNT_LIMIT : MAXIMUM_THREAD_COUNT_LIMIT;
+    }
+
     private static Parameters createDefaultParameters() {
         return Parameters.builder()
                 .resortId(DEFAULT_RESORT_ID)
@@ -131,6 +412,31 @@ public class Parameters {
                 .liftCount(Integer.parseInt(DEFAULT_LIFT_COUNT))
                 .hostServerAddress(DEFAULT_SERVER_ADDRESS)
                 .skierCount(Integer.parseInt(DEFAULT_SKIER_COUNT))
+                .loadMode(LoadMode.CLOSED)
+                .executionMode(ExecutionMode.PLATFORM)
+                .maxInFlightPerWorker(Integer.parseInt(DEFAULT_MAX_IN_FLIGHT_PER_WORKER))
+                .clientTopology(ClientTopology.SHARED)
+                .clientShards(Integer.parseInt(DEFAULT_CLIENT_SHARDS))
+                .connectionPoolSize(Integer.parseInt(DEFAULT_CONNECTION_POOL_SIZE))
+                .keepAliveSeconds(Integer.parseInt(DEFAULT_KEEP_ALIVE_SECONDS))
+                .dispatcherMaxRequests(Integer.parseInt(AUTO_SIZED_DISPATCHER_LIMIT))
+                .dispatcherMaxRequestsPerHost(Integer.parseInt(AUTO_SIZED_DISPATCHER_LIMIT))
+                .recorderCapacity(Integer.parseInt(DEFAULT_RECORDER_CAPACITY))
+                .reportIntervalSeconds(Integer.parseInt(DEFAULT_REPORT_INTERVAL_SECONDS))
+                .outputFormat(OutputFormat.CSV)
+                .percentiles(DEFAULT_PERCENTILES)
+                .phaseOneRate(Integer.parseInt(DEFAULT_PHASE_ONE_RATE))
+                .phaseTwoRate(Integer.parseInt(DEFAULT_PHASE_TWO_RATE))
+                .phaseThreeRate(Integer.parseInt(DEFAULT_PHASE_THREE_RATE))
+                .workloadSchedule(WorkloadSchedule.defaultSchedule(
+                        Integer.parseInt(DEFAULT_PHASE_ONE_RATE),
+                        Integer.parseInt(DEFAULT_PHASE_TWO_RATE),
+                        Integer.parseInt(DEFAULT_PHASE_THREE_RATE)))
+                .skierDistribution(KeyDistribution.UNIFORM)
+                .zipfExponent(Double.parseDouble(DEFAULT_ZIPF_EXPONENT))
+                .hotspotTrafficPercent(Double.parseDouble(DEFAULT_HOTSPOT_TRAFFIC_PERCENT))
+                .hotspotKeyPercent(Double.parseDouble(DEFAULT_HOTSPOT_KEY_PERCENT))
+                .seed(parseSeed(null))
                 .build();
     }
 }
@@ -0,0 +1,54 @@
+package assignment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * One phase of a ski-day workload: how many workers it starts, what each worker sends and when
+ * it may start relative to the phase before it.
+ */
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+public class WorkloadPhase {
+    private static final double PERCENT = 100.0;
+
+    private String name;
+    /** Absolute worker count; when 0 the count is {@code threadPercent} of maxThreads. */
+    private int threadCount;
+    private int threadPercent;
+    /** Target requests per second across the phase in open-loop mode. */
+    private int rate;
+    private int startMinute;
+    private int endMinute;
+    private int postRequestCount;
+    private int get1RequestCount;
+    private int get2RequestCount;
+    private int get3RequestCount;
+    /** When above 0 every worker repeats its request mix until the phase has run this long. */
+    private int durationSeconds;
+    /** Share of the previous phase's workers that must finish before this phase starts. */
+    private int startAfterPercent;
+
+    public int threadCountFor(int maxThreadCount) {
+        return threadCount > 0 ? threadCount : (int) (maxThreadCount * threadPercent / PERCENT);
+    }
+
+    /**
+     * The number of this phase's workers the next phase waits for.
+     */
+    public int workersToAwait(int maxThreadCount, int nextPhaseStartAfterPercent) {
+        return (int) Math.ceil(threadCountFor(maxThreadCount) * nextPhaseStartAfterPercent / PERCENT);
+    }
+
+    /**
+     * Requests each worker sends per round. The counts also weight the mix the requests are drawn
+     * from, so a round matches them on average rather than exactly.
+     */
+    public int requestsPerRound() {
+        return postRequestCount + get1RequestCount + get2RequestCount + get3RequestCount;
+    }
+}
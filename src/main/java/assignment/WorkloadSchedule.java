@@ -0,0 +1,199 @@
+package assignment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The phases of a run, in start order. Read from a schedule properties file listing the phase
+ * names under {@code phases} and each phase's settings under {@code <name>.<setting>}, e.g.
+ *
+ * <pre>
+ * phases=startup,peak,cooldown
+ * peak.threadPercent=100
+ * peak.rate=1000
+ * peak.startMinute=91
+ * peak.endMinute=360
+ * peak.postRequests=1000
+ * peak.get1Requests=5
+ * peak.startAfterPercent=10
+ * </pre>
+ *
+ * The postRequests, get1Requests, get2Requests and get3Requests counts give how many requests
+ * each worker sends per round and weight the mix every request is drawn from.
+ *
+ * Without a schedule file the client runs {@link #defaultSchedule}, the original three-phase day.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class WorkloadSchedule {
+    private static final String PHASES_PROP_NAME = "phases";
+    private static final String THREADS_SETTING = "threads";
+    private static final String THREAD_PERCENT_SETTING = "threadPercent";
+    private static final String RATE_SETTING = "rate";
+    private static final String START_MINUTE_SETTING = "startMinute";
+    private static final String END_MINUTE_SETTING = "endMinute";
+    private static final String POST_REQUESTS_SETTING = "postRequests";
+    private static final String GET1_REQUESTS_SETTING = "get1Requests";
+    private static final String GET2_REQUESTS_SETTING = "get2Requests";
+    private static final String GET3_REQUESTS_SETTING = "get3Requests";
+    private static final String DURATION_SECONDS_SETTING = "durationSeconds";
+    private static final String START_AFTER_PERCENT_SETTING = "startAfterPercent";
+    private static final String PHASE_NAME_SEPARATOR = ",";
+    private static final String SETTING_SEPARATOR = ".";
+
+    private static final String DEFAULT_ZERO = "0";
+    private static final String DEFAULT_START_AFTER_PERCENT = "10";
+    private static final int MAXIMUM_PERCENT = 100;
+    private static final int FIRST_MINUTE = 1;
+    private static final int MINUTES_IN_DAY = 420;
+    private static final Pattern PHASE_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,16}");
+    private static final String RESERVED_PHASE_NAME = "untagged";
+
+    private static final int PHASE_ONE_TIME_START = 1;
+    private static final int PHASE_ONE_TIME_END = 90;
+    private static final int PHASE_TWO_TIME_START = 91;
+    private static final int PHASE_TWO_TIME_END = 360;
+    private static final int PHASE_THREE_TIME_START = 361;
+    private static final int PHASE_THREE_TIME_END = 420;
+    private static final int PHASE_ONE_TWO_GET_REQ_COUNT = 5;
+    private static final int PHASE_THREE_GET_REQ_COUNT = 10;
+    private static final int POST_REQ_COUNT = 1000;
+    private static final int PHASE_ONE_THREE_THREAD_PERCENT = 25;
+    private static final int DEFAULT_START_AFTER_PERCENT_VALUE = 10;
+
+    private List<WorkloadPhase> phases;
+
+    /**
+     * The start-up, peak and cool-down layout the client has always run: a quarter of maxThreads
+     * for minutes 1-90, all of them for 91-360 and a quarter for 361-420, each phase starting once
+     * 10% of the previous phase's workers have finished.
+     */
+    public static WorkloadSchedule defaultSchedule(int phaseOneRate, int phaseTwoRate, int phaseThreeRate) {
+        List<WorkloadPhase> phases = new ArrayList<>();
+        phases.add(WorkloadPhase.builder()
+                .name("startup")
+                .threadPercent(PHASE_ONE_THREE_THREAD_PERCENT)
+                .rate(phaseOneRate)
+                .startMinute(PHASE_ONE_TIME_START)
+                .endMinute(PHASE_ONE_TIME_END)
+                .postRequestCount(POST_REQ_COUNT)
+                .get1RequestCount(PHASE_ONE_TWO_GET_REQ_COUNT)
+                .build());
+        phases.add(WorkloadPhase.builder()
+                .name("peak")
+                .threadPercent(MAXIMUM_PERCENT)
+                .rate(phaseTwoRate)
+                .startMinute(PHASE_TWO_TIME_START)
+                .endMinute(PHASE_TWO_TIME_END)
+                .postRequestCount(POST_REQ_COUNT)
+                .get1RequestCount(PHASE_ONE_TWO_GET_REQ_COUNT)
+                .startAfterPercent(DEFAULT_START_AFTER_PERCENT_VALUE)
+                .build());
+        phases.add(WorkloadPhase.builder()
+                .name("cooldown")
+                .threadPercent(PHASE_ONE_THREE_THREAD_PERCENT)
+                .rate(phaseThreeRate)
+                .startMinute(PHASE_THREE_TIME_START)
+                .endMinute(PHASE_THREE_TIME_END)
+                .postRequestCount(POST_REQ_COUNT)
+                .get1RequestCount(PHASE_THREE_GET_REQ_COUNT)
+                .get2RequestCount(PHASE_THREE_GET_REQ_COUNT)
+                .startAfterPercent(DEFAULT_START_AFTER_PERCENT_VALUE)
+                .build());
+        return new WorkloadSchedule(phases);
+    }
+
+    public static WorkloadSchedule parseScheduleFile(String filePath) {
+        Properties properties = new Properties();
+        try (InputStream is = new FileInputStream(filePath)) {
+            properties.load(is);
+        } catch (IOException ioe) {
+            throw new IllegalArgumentException("Could not read schedule file " + filePath, ioe);
+        }
+
+        String rawPhaseNames = properties.getProperty(PHASES_PROP_NAME);
+        if (rawPhaseNames == null || rawPhaseNames.trim().isEmpty()) {
+            throw new IllegalArgumentException("Schedule file " + filePath + " lists no phases.");
+        }
+        List<WorkloadPhase> phases = new ArrayList<>();
+        Set<String> phaseNames = new HashSet<>();
+        for (String rawPhaseName : rawPhaseNames.split(PHASE_NAME_SEPARATOR)) {
+            String phaseName = rawPhaseName.trim();
+            if (!PHASE_NAME_PATTERN.matcher(phaseName).matches()
+                    || phaseName.equals(RESERVED_PHASE_NAME)
+                    || !phaseNames.add(phaseName)) {
+                throw new IllegalArgumentException("Invalid or repeated phase name: " + phaseName);
+            }
+            phases.add(parsePhase(properties, phaseName, phases.isEmpty()));
+        }
+        return new WorkloadSchedule(phases);
+    }
+
+    private static WorkloadPhase parsePhase(Properties properties, String phaseName, boolean firstPhase) {
+        WorkloadPhase phase = WorkloadPhase.builder()
+                .name(phaseName)
+                .threadCount(intSetting(properties, phaseName, THREADS_SETTING, DEFAULT_ZERO))
+                .threadPercent(intSetting(properties, phaseName, THREAD_PERCENT_SETTING, DEFAULT_ZERO))
+                .rate(intSetting(properties, phaseName, RATE_SETTING, DEFAULT_ZERO))
+                .startMinute(intSetting(properties, phaseName, START_MINUTE_SETTING, String.valueOf(FIRST_MINUTE)))
+                .endMinute(intSetting(properties, phaseName, END_MINUTE_SETTING, String.valueOf(MINUTES_IN_DAY)))
+                .postRequestCount(intSetting(properties, phaseName, POST_REQUESTS_SETTING, DEFAULT_ZERO))
+                .get1RequestCount(intSetting(properties, phaseName, GET1_REQUESTS_SETTING, DEFAULT_ZERO))
+                .get2RequestCount(intSetting(properties, phaseName, GET2_REQUESTS_SETTING, DEFAULT_ZERO))
+                .get3RequestCount(intSetting(properties, phaseName, GET3_REQUESTS_SETTING, DEFAULT_ZERO))
+                .durationSeconds(intSetting(properties, phaseName, DURATION_SECONDS_SETTING, DEFAULT_ZERO))
+                .startAfterPercent(firstPhase ? 0 : intSetting(
+                        properties, phaseName, START_AFTER_PERCENT_SETTING, DEFAULT_START_AFTER_PERCENT))
+                .build();
+
+        if (phase.getThreadCount() <= 0 && phase.getThreadPercent() <= 0) {
+            throw new IllegalArgumentException("Phase " + phaseName + " needs threads or threadPercent above 0.");
+        }
+        if (phase.getStartMinute() < FIRST_MINUTE
+                || phase.getEndMinute() <= phase.getStartMinute()
+                || phase.getEndMinute() > MINUTES_IN_DAY) {
+            throw new IllegalArgumentException("Phase " + phaseName + " needs 1 <= startMinute < endMinute <= 420.");
+        }
+        if (phase.getPostRequestCount() < 0 || phase.getGet1RequestCount() < 0
+                || phase.getGet2RequestCount() < 0 || phase.getGet3RequestCount() < 0
+                || phase.requestsPerRound() == 0) {
+            throw new IllegalArgumentException("Phase " + phaseName + " needs a non-negative, non-empty request mix.");
+        }
+        if (phase.getRate() < 0 || phase.getDurationSeconds() < 0
+                || phase.getStartAfterPercent() < 0 || phase.getStartAfterPercent() > MAXIMUM_PERCENT) {
+            throw new IllegalArgumentException("Phase " + phaseName + " has an out of range setting.");
+        }
+        return phase;
+    }
+
+    private static int intSetting(Properties properties, String phaseName, String setting, String defaultValue) {
+        String key = phaseName + SETTING_SEPARATOR + setting;
+        String rawValue = properties.getProperty(key, defaultValue).trim();
+        try {
+            return Integer.parseInt(rawValue);
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException(key + " should be an integer.", nfe);
+        }
+    }
+
+    public List<String> getPhaseNames() {
+        return phases.stream().map(WorkloadPhase::getName).collect(Collectors.toList());
+    }
+
+    public int totalThreadCount(int maxThreadCount) {
+        return phases.stream().mapToInt(phase -> phase.threadCountFor(maxThreadCount)).sum();
+    }
+}
@@ -0,0 +1,72 @@
+package assignment.client;
+
+import java.util.SplittableRandom;
+
+/**
+ * Vose's alias method over a fixed set of weights. Building the table is O(n); afterwards each
+ * draw picks a column uniformly and either keeps it or takes its alias, so it costs two random
+ * numbers and no allocation however many outcomes there are. Read-only once built, so one table
+ * can be shared by any number of threads.
+ */
+class AliasTable {
+    private final double[] keepProbability;
+    private final int[] alias;
+
+    AliasTable(double[] weights) {
+        double totalWeight = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and not negative");
+            }
+            totalWeight += weight;
+        }
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("At least one weight must be above 0");
+        }
+
+        int size = weights.length;
+        keepProbability = new double[size];
+        alias = new int[size];
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int column = 0; column < size; column++) {
+            scaled[column] = weights[column] * size / totalWeight;
+            alias[column] = column;
+            if (scaled[column] < 1.0) {
+                small[smallCount++] = column;
+            } else {
+                large[largeCount++] = column;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int underfull = small[--smallCount];
+            int overfull = large[--largeCount];
+            keepProbability[underfull] = scaled[underfull];
+            alias[underfull] = overfull;
+            scaled[overfull] = scaled[overfull] + scaled[underfull] - 1.0;
+            if (scaled[overfull] < 1.0) {
+                small[smallCount++] = overfull;
+            } else {
+                large[largeCount++] = overfull;
+            }
+        }
+        // Whatever is left is full up to rounding error.
+        while (largeCount > 0) {
+            keepProbability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            keepProbability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    /**
+     * @return an index into the weights the table was built from
+     */
+    int next(SplittableRandom random) {
+        int column = random.nextInt(alias.length);
+        return random.nextDouble() < keepProbability[column] ? column : alias[column];
+    }
+}
@@ -0,0 +1,101 @@
+package assignment.client;
+
+import assignment.ClientTopology;
+import assignment.ExecutionMode;
+import assignment.Parameters;
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.Dispatcher;
+import com.squareup.okhttp.OkHttpClient;
+import io.swagger.client.ApiClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class ApiClientProvider {
+    private static final int CLIENT_TIMEOUT_MILLIS = 120000;
+
+    private final Parameters parameters;
+    private final ConnectionPoolStatistics poolStatistics = new ConnectionPoolStatistics();
+    private final ExecutorService dispatcherExecutor;
+    private final List<ApiClient> pooledClients = new ArrayList<>();
+    private final int dispatcherMaxRequests;
+
+    public ApiClientProvider(Parameters parameters) {
+        this.parameters = parameters;
+        this.dispatcherExecutor = Executors.newCachedThreadPool(
+                WorkerThreadFactory.forMode(dispatcherExecutionMode(parameters)));
+
+        int clientCount;
+        switch (parameters.getClientTopology()) {
+            case SHARDED:
+                clientCount = parameters.getClientShards();
+                break;
+            case PER_WORKER:
+                clientCount = parameters.getMaxThreadCount();
+                break;
+            default:
+                clientCount = 1;
+        }
+        this.dispatcherMaxRequests = parameters.getDispatcherMaxRequests() > 0
+                ? parameters.getDispatcherMaxRequests()
+                : Math.max(1, parameters.getMaxThreadCount() * parameters.getMaxInFlightPerWorker() / clientCount);
+
+        if (parameters.getClientTopology() != ClientTopology.PER_WORKER) {
+            for (int i = 0; i < clientCount; i++) {
+                pooledClients.add(createApiClient());
+            }
+        }
+    }
+
+    public ApiClient clientForWorker(int workerIndex) {
+        if (parameters.getClientTopology() == ClientTopology.PER_WORKER) {
+            return createApiClient();
+        }
+        return pooledClients.get(workerIndex % pooledClients.size());
+    }
+
+    public ConnectionPoolStatistics getPoolStatistics() {
+        return poolStatistics;
+    }
+
+    /**
+     * Every client gets its own pool and dispatcher: OkHttp 2.x otherwise falls back to the
+     * process-wide ConnectionPool.getDefault(), which would make the sharded and per-worker
+     * topologies share connections after all.
+     */
+    private ApiClient createApiClient() {
+        ApiClient apiClient = new ApiClient();
+        OkHttpClient httpClient = apiClient.getHttpClient();
+
+        httpClient.setConnectionPool(new ConnectionPool(
+                parameters.getConnectionPoolSize(),
+                TimeUnit.SECONDS.toMillis(parameters.getKeepAliveSeconds())));
+
+        Dispatcher dispatcher = new Dispatcher(dispatcherExecutor);
+        dispatcher.setMaxRequests(dispatcherMaxRequests);
+        dispatcher.setMaxRequestsPerHost(parameters.getDispatcherMaxRequestsPerHost() > 0
+                ? parameters.getDispatcherMaxRequestsPerHost()
+                : dispatcherMaxRequests);
+        httpClient.setDispatcher(dispatcher);
+        poolStatistics.register(httpClient);
+
+        apiClient.setReadTimeout(CLIENT_TIMEOUT_MILLIS);
+        apiClient.setWriteTimeout(CLIENT_TIMEOUT_MILLIS);
+        apiClient.setConnectTimeout(CLIENT_TIMEOUT_MILLIS);
+        apiClient.setBasePath(parameters.getHostServerAddress());
+        return apiClient;
+    }
+
+    /**
+     * OkHttp 2.x performs async exchanges on blocking dispatcher threads, so in async mode they are
+     * virtual threads where the JVM supports them.
+     */
+    private static ExecutionMode dispatcherExecutionMode(Parameters parameters) {
+        return parameters.getExecutionMode() == ExecutionMode.ASYNC && ExecutionMode.virtualThreadsAvailable()
+                ? ExecutionMode.VIRTUAL
+                : ExecutionMode.PLATFORM;
+    }
+}
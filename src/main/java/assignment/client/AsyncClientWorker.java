@@ -0,0 +1,214 @@
+package assignment.client;
+
+import assignment.statistics.RequestRecorder;
+import assignment.statistics.RequestStatistics;
+import assignment.statistics.RequestType;
+import com.squareup.okhttp.Call;
+import io.swagger.client.ApiCallback;
+import io.swagger.client.ApiClient;
+import io.swagger.client.ApiException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+@Builder
+@AllArgsConstructor
+public class AsyncClientWorker implements Runnable {
+    private static final Logger logger =
+            LogManager.getLogger(AsyncClientWorker.class);
+
+    private int startTime;
+    private int endTime;
+    private int liftCount;
+    private int day;
+    private int requestsPerRound;
+    private int maxInFlight;
+    private RequestMix requestMix;
+    private KeySampler skierSampler;
+    /** Split from the phase's random for this worker alone; the source of every random value it sends. */
+    private SplittableRandom random;
+    /** Null unless the request stream is being dumped. */
+    private RequestStreamDump requestStreamDump;
+    private String requestStreamId;
+
+    private long scheduleStartNanos;
+    private long requestIntervalNanos;
+
+    private AtomicInteger successCount;
+    private AtomicInteger failureCount;
+
+    private String resortName;
+    private int phaseIndex;
+    /** System.nanoTime after which no further requests are sent, or RequestSchedule.NO_DEADLINE. */
+    private long phaseDeadlineNanos;
+
+    private CountDownLatch phaseLatch;
+    private CountDownLatch endLatch;
+
+    private ApiClient apiClient;
+    private RequestStatistics requestStatistics;
+    private ConcurrencyTracker concurrencyTracker;
+
+    @Override
+    public void run() {
+        concurrencyTracker.clientStarted();
+        RequestCallFactory callFactory = new RequestCallFactory(
+                apiClient,
+                resortName,
+                day,
+                skierSampler,
+                liftCount,
+                startTime,
+                endTime,
+                random,
+                requestStreamDump,
+                requestStreamId);
+
+        RequestRecorder recorder = requestStatistics.newRecorder(phaseIndex);
+        ConcurrentLinkedQueue<CompletionCallback> completedRequests = new ConcurrentLinkedQueue<>();
+        RequestSchedule schedule = new RequestSchedule(scheduleStartNanos, requestIntervalNanos, phaseDeadlineNanos);
+        Semaphore inFlightWindow = new Semaphore(maxInFlight);
+
+        for (int round = 0; schedule.startsRound(round); round++) {
+            long firstRequestIndex = (long) round * requestsPerRound;
+            sendRequestMix(callFactory, recorder, schedule, inFlightWindow, completedRequests, firstRequestIndex);
+            callFactory.flushRequestStream();
+        }
+
+        inFlightWindow.acquireUninterruptibly(maxInFlight);
+        recordCompletedRequests(completedRequests, recorder);
+
+        recorder.close();
+        concurrencyTracker.clientFinished();
+        phaseLatch.countDown();
+        endLatch.countDown();
+    }
+
+    private void sendRequestMix(
+            RequestCallFactory callFactory,
+            RequestRecorder recorder,
+            RequestSchedule schedule,
+            Semaphore inFlightWindow,
+            ConcurrentLinkedQueue<CompletionCallback> completedRequests,
+            long firstRequestIndex) {
+        IntStream.range(0, requestsPerRound)
+                .filter(val -> schedule.hasTimeRemaining())
+                .forEach(val -> {
+                    RequestType requestType = requestMix.next(random);
+                    long slotNanos = schedule.awaitSlot(firstRequestIndex + val);
+                    inFlightWindow.acquireUninterruptibly();
+                    recordCompletedRequests(completedRequests, recorder);
+                    try {
+                        Call call = callFactory.newCall(requestType);
+                        long startNanos = System.nanoTime();
+                        CompletionCallback callback = new CompletionCallback(
+                                requestType,
+                                startNanos,
+                                schedule.intendedStartNanos(slotNanos, startNanos),
+                                inFlightWindow,
+                                completedRequests);
+                        apiClient.executeAsync(call, RequestCallFactory.responseType(requestType), callback);
+                    } catch (ApiException e) {
+                        failureCount.incrementAndGet();
+                        logger.log(Level.ERROR, e.getMessage());
+                        inFlightWindow.release();
+                    }
+                });
+    }
+
+    /**
+     * Callbacks run on dispatcher threads, so completions are handed back to the worker thread,
+     * which stays the only writer of its recorder.
+     */
+    private static void recordCompletedRequests(
+            ConcurrentLinkedQueue<CompletionCallback> completedRequests, RequestRecorder recorder) {
+        CompletionCallback completed = completedRequests.poll();
+        while (completed != null) {
+            recorder.record(
+                    completed.requestType,
+                    completed.responseCode,
+                    completed.intendedStartNanos,
+                    completed.startNanos,
+                    completed.endNanos);
+            completed = completedRequests.poll();
+        }
+    }
+
+    private class CompletionCallback implements ApiCallback<Object> {
+        private final RequestType requestType;
+        private final long startNanos;
+        private final long intendedStartNanos;
+        private final Semaphore inFlightWindow;
+        private final ConcurrentLinkedQueue<CompletionCallback> completedRequests;
+        private long endNanos;
+        private int responseCode;
+
+        CompletionCallback(
+                RequestType requestType,
+                long startNanos,
+                long intendedStartNanos,
+                Semaphore inFlightWindow,
+                ConcurrentLinkedQueue<CompletionCallback> completedRequests) {
+            this.requestType = requestType;
+            this.startNanos = startNanos;
+            this.intendedStartNanos = intendedStartNanos;
+            this.inFlightWindow = inFlightWindow;
+            this.completedRequests = completedRequests;
+            concurrencyTracker.requestStarted();
+        }
+
+        /**
+         * Failed requests are recorded too, with their HTTP status code or 0 after an I/O error.
+         */
+        @Override
+        public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+            endNanos = System.nanoTime();
+            responseCode = statusCode;
+            failureCount.incrementAndGet();
+            logger.log(Level.ERROR, e.getMessage());
+            completedRequests.add(this);
+            complete();
+        }
+
+        @Override
+        public void onSuccess(Object result, int statusCode, Map<String, List<String>> responseHeaders) {
+            endNanos = System.nanoTime();
+            responseCode = statusCode;
+            incrementCounts(RequestCallFactory.isSuccessCode(requestType, statusCode));
+            completedRequests.add(this);
+            complete();
+        }
+
+        @Override
+        public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+        }
+
+        @Override
+        public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+        }
+
+        private void complete() {
+            concurrencyTracker.requestFinished();
+            inFlightWindow.release();
+        }
+    }
+
+    private void incrementCounts(boolean isCorrectResponse) {
+        if (isCorrectResponse) {
+            successCount.incrementAndGet();
+        } else {
+            failureCount.incrementAndGet();
+        }
+    }
+}
@@ -1,40 +1,39 @@
 package assignment.client;
 
+import assignment.ExecutionMode;
+import assignment.LoadMode;
 import assignment.Parameters;
+import assignment.WorkloadPhase;
+import assignment.WorkloadSchedule;
+import assignment.statistics.PhaseStatistics;
 import assignment.statistics.RequestStatistics;
+import assignment.statistics.RequestType;
+import assignment.statistics.WriterLagStatistics;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.SplittableRandom;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 
 public class Client {
     private static final String CONFIG_FILE_PATH = "client_config.properties";
-    private static final double MILLISECONDS_IN_SECOND = 1000.0;
+    private static final double NANOSECONDS_IN_SECOND_DOUBLE = 1_000_000_000.0;
+    private static final String LATENCY_FORMAT = "%.3f";
+    private static final long NANOSECONDS_IN_SECOND = 1_000_000_000L;
+    private static final String CORRECTED_LABEL = " (corrected: ";
+    private static final String SUMMARY_FILE_SUFFIX = "Summary.json";
 
-    private static final int MAX_THREAD_DENOMINATOR = 4;
-
-    private static final int PHASE_ONE_TIME_START = 1;
-    private static final int PHASE_ONE_TIME_END = 90;
-    private static final int PHASE_TWO_TIME_START = 91;
-    private static final int PHASE_TWO_TIME_END = 360;
-    private static final int PHASE_THREE_TIME_START = 361;
-    private static final int PHASE_THREE_TIME_END = 420;
-
-    private static final int PHASE_ONE_GET_REQ_COUNT = 5;
-    private static final int PHASE_ONE_POST_REQ_COUNT = 1000;
-    private static final int PHASE_TWO_GET_REQ_COUNT = 5;
-    private static final int PHASE_TWO_POST_REQ_COUNT = 1000;
-    private static final int PHASE_THREE_GET_REQ_COUNT = 10;
-    private static final int PHASE_THREE_POST_REQ_COUNT = 1000;
-    private static final int PHASE_ONE_TWO_SECOND_GET_COUNT = 0;
+    private static final int SKIER_RANGE_DENOMINATOR = 4;
 
     private static final Logger logger =
             LogManager.getLogger(Client.class);
@@ -46,89 +45,101 @@ public class Client {
         if(clientParams.isPresent()) {
             final Parameters parameters = clientParams.get();
 
+            String outputFileBaseName = "outputData" + parameters.getMaxThreadCount() + "Threads";
             RequestStatistics requestStatistics =
-                    new RequestStatistics("outputData" + parameters.getMaxThreadCount() + "Threads.csv");
-            Thread statsWriteThread = requestStatistics.startWritingToCsv();
-
+                    new RequestStatistics(
+                            outputFileBaseName + parameters.getOutputFormat().getFileExtension(),
+                            parameters.getRecorderCapacity(),
+                            parameters.getOutputFormat(),
+                            parameters.getPercentiles(),
+                            parameters.getWorkloadSchedule().getPhaseNames());
+            Thread statsWriteThread = requestStatistics.startWritingRequestLog();
+
+            WorkloadSchedule schedule = parameters.getWorkloadSchedule();
+            List<WorkloadPhase> phases = schedule.getPhases();
             int maxThreads = parameters.getMaxThreadCount();
-            int totalThreads = maxThreads + maxThreads/2;
-            int phaseOneThreads = maxThreads / MAX_THREAD_DENOMINATOR;
-            int phaseThreeThreads = maxThreads / MAX_THREAD_DENOMINATOR;
-
-            int phaseOneCountDownEnd = ((int) Math.ceil(phaseOneThreads / 10.0));
-            int phaseTwoCountDownEnd = ((int) Math.ceil(maxThreads / 10.0));
+            int totalThreads = schedule.totalThreadCount(maxThreads);
 
             AtomicInteger successCount = new AtomicInteger(0);
             AtomicInteger failureCount = new AtomicInteger(0);
-
-            CountDownLatch totalCountDownLatch = new CountDownLatch(totalThreads);
-            CountDownLatch phaseOneLatch = new CountDownLatch(phaseOneCountDownEnd);
-            CountDownLatch phaseTwoLatch = new CountDownLatch(phaseTwoCountDownEnd);
-            CountDownLatch phaseThreeLatch = new CountDownLatch(0);
-
-            long programStartTime = System.currentTimeMillis();
-
-            logger.log(Level.INFO, "Phase One Beginning");
-            createThreads(
-                    parameters,
-                    phaseOneLatch,
-                    totalCountDownLatch,
-                    phaseOneThreads,
-                    PHASE_ONE_TIME_START,
-                    PHASE_ONE_TIME_END,
-                    PHASE_ONE_GET_REQ_COUNT,
-                    PHASE_ONE_TWO_SECOND_GET_COUNT,
-                    PHASE_ONE_POST_REQ_COUNT,
+            ConcurrencyTracker concurrencyTracker = new ConcurrencyTracker();
+            ThreadFactory threadFactory = WorkerThreadFactory.forMode(parameters.getExecutionMode());
+            ApiClientProvider apiClientProvider = new ApiClientProvider(parameters);
+            SkierSamplerFactory skierSamplerFactory = new SkierSamplerFactory(parameters);
+            SplittableRandom runRandom = new SplittableRandom(parameters.getSeed());
+            RequestStreamDump requestStreamDump = parameters.getRequestStreamFile() == null
+                    ? null
+                    : new RequestStreamDump(parameters.getRequestStreamFile());
+            LiveMetricsReporter liveMetricsReporter = new LiveMetricsReporter(
+                    parameters.getReportIntervalSeconds(),
                     successCount,
                     failureCount,
-                    requestStatistics);
+                    concurrencyTracker,
+                    requestStatistics.getIntervalLatencyStatistics(),
+                    requestStatistics.getWriterLagStatistics());
 
-            phaseOneLatch.await();
-
-            logger.log(Level.INFO, "Phase Two Beginning");
-            createThreads(
-                    parameters,
-                    phaseTwoLatch,
-                    totalCountDownLatch,
-                    maxThreads,
-                    PHASE_TWO_TIME_START,
-                    PHASE_TWO_TIME_END,
-                    PHASE_TWO_GET_REQ_COUNT,
-                    PHASE_ONE_TWO_SECOND_GET_COUNT,
-                    PHASE_TWO_POST_REQ_COUNT,
-                    successCount,
-                    failureCount,
-                    requestStatistics);
+            CountDownLatch totalCountDownLatch = new CountDownLatch(totalThreads);
 
-            phaseTwoLatch.await();
-
-            logger.log(Level.INFO, "Phase Three Beginning");
-            createThreads(
-                    parameters,
-                    phaseThreeLatch,
-                    totalCountDownLatch,
-                    phaseThreeThreads,
-                    PHASE_THREE_TIME_START,
-                    PHASE_THREE_TIME_END,
-                    PHASE_THREE_GET_REQ_COUNT,
-                    PHASE_THREE_GET_REQ_COUNT,
-                    PHASE_THREE_POST_REQ_COUNT,
-                    successCount,
-                    failureCount,
-                    requestStatistics);
+            long programStartNanos = System.nanoTime();
+            liveMetricsReporter.start();
+
+            logger.log(Level.INFO, "Load mode: " + parameters.getLoadMode().getPropertyValue());
+            logger.log(Level.INFO, "Execution mode: " + parameters.getExecutionMode().getPropertyValue());
+            logger.log(Level.INFO, "Seed: " + parameters.getSeed());
+            for (int phaseIndex = 0; phaseIndex < phases.size(); phaseIndex++) {
+                WorkloadPhase phase = phases.get(phaseIndex);
+                int phaseLatchCount = phaseIndex + 1 < phases.size()
+                        ? phase.workersToAwait(maxThreads, phases.get(phaseIndex + 1).getStartAfterPercent())
+                        : 0;
+                CountDownLatch phaseLatch = new CountDownLatch(phaseLatchCount);
+
+                logger.log(Level.INFO, "Phase " + phase.getName() + " Beginning");
+                createThreads(
+                        parameters,
+                        phaseLatch,
+                        totalCountDownLatch,
+                        phase,
+                        phaseIndex,
+                        phase.threadCountFor(maxThreads),
+                        runRandom.split(),
+                        successCount,
+                        failureCount,
+                        requestStatistics,
+                        concurrencyTracker,
+                        threadFactory,
+                        apiClientProvider,
+                        skierSamplerFactory,
+                        requestStreamDump);
+
+                phaseLatch.await();
+            }
 
             totalCountDownLatch.await();
 
             logger.log(Level.INFO, "Client processed all requests");
-            long endTime = System.currentTimeMillis();
-
-            requestStatistics.addStatsToQueue(Collections.emptyList());
+            long programEndNanos = System.nanoTime();
+            liveMetricsReporter.stop();
+            if (requestStreamDump != null) {
+                requestStreamDump.close();
+                logger.log(Level.INFO, "Request stream written to " + parameters.getRequestStreamFile());
+            }
+
+            requestStatistics.finishRecording();
             statsWriteThread.join();
 
             requestStatistics.startCalculation();
             requestStatistics.setVals();
+            writeLatencySummary(requestStatistics, outputFileBaseName + SUMMARY_FILE_SUFFIX);
 
-            printResults(requestStatistics, parameters, programStartTime, endTime, successCount, failureCount);
+            printResults(
+                    requestStatistics,
+                    parameters,
+                    programStartNanos,
+                    programEndNanos,
+                    successCount,
+                    failureCount,
+                    concurrencyTracker,
+                    apiClientProvider.getPoolStatistics());
         } else {
             logger.log(Level.DEBUG, "Unable to load parameters config file");
         }
@@ -139,76 +150,179 @@ public class Client {
             Parameters parameters,
             CountDownLatch phaseLatch,
             CountDownLatch endLatch,
+            WorkloadPhase phase,
+            int phaseIndex,
             int numberThreads,
-            int startTime,
-            int endTime,
-            int getRequestCount,
-            int getRequestCountPhase3,
-            int postRequestCount,
+            SplittableRandom phaseRandom,
             AtomicInteger successCount,
             AtomicInteger failureCount,
-            RequestStatistics requestStatistics) {
+            RequestStatistics requestStatistics,
+            ConcurrencyTracker concurrencyTracker,
+            ThreadFactory threadFactory,
+            ApiClientProvider apiClientProvider,
+            SkierSamplerFactory skierSamplerFactory,
+            RequestStreamDump requestStreamDump) {
 
-        int numberSkiers = parameters.getSkierCount();
+        int numberSkiers = Math.max(1, parameters.getSkierCount());
         int maxThreads = parameters.getMaxThreadCount();
 
+        boolean openLoop = parameters.getLoadMode() == LoadMode.OPEN;
+        long phaseStartNanos = System.nanoTime();
+        long threadIntervalNanos = openLoop ? numberThreads * NANOSECONDS_IN_SECOND / phase.getRate() : 0;
+        long phaseDeadlineNanos = phase.getDurationSeconds() > 0
+                ? phaseStartNanos + phase.getDurationSeconds() * NANOSECONDS_IN_SECOND
+                : RequestSchedule.NO_DEADLINE;
+        RequestMix requestMix = RequestMix.forPhase(phase);
+
         IntStream.range(0, numberThreads)
                 .forEach( i -> {
-                    int numberSkiersPerThread = numberSkiers / maxThreads / MAX_THREAD_DENOMINATOR;
-                    int skierIdStart = i * numberSkiersPerThread + 1;
-                    int skierIdStop = (i + 1) * numberSkiersPerThread;
-
-                    ClientThread clientThread =
-                            ClientThread.builder()
-                                    .serverAddress(parameters.getHostServerAddress())
-                                    .day(parameters.getSkiDayNumber())
-                                    .phaseLatch(phaseLatch)
-                                    .endLatch(endLatch)
-                                    .getRequestCount(getRequestCount)
-                                    .getRequestCountPhaseThree(getRequestCountPhase3)
-                                    .postRequestCount(postRequestCount)
-                                    .liftCount(parameters.getLiftCount())
-                                    .startTime(startTime)
-                                    .endTime(endTime)
-                                    .skierIdBegin(skierIdStart)
-                                    .skierIdEnd(skierIdStop)
-                                    .resortName(parameters.getResortId())
-                                    .successCount(successCount)
-                                    .failureCount(failureCount)
-                                    .requestStatistics(requestStatistics)
-                                    .build();
-
-                    (new Thread(clientThread)).start();
+                    int numberSkiersPerThread = Math.max(1, numberSkiers / maxThreads / SKIER_RANGE_DENOMINATOR);
+                    int skierIdStart = (i * numberSkiersPerThread) % numberSkiers + 1;
+                    int skierIdStop = skierIdStart + numberSkiersPerThread - 1;
+                    long threadStartOffsetNanos = openLoop ? i * threadIntervalNanos / numberThreads : 0;
+                    SplittableRandom workerRandom = phaseRandom.split();
+                    String requestStreamId = phase.getName() + "," + i;
+
+                    Runnable worker;
+                    if (parameters.getExecutionMode() == ExecutionMode.ASYNC) {
+                        worker =
+                                AsyncClientWorker.builder()
+                                        .apiClient(apiClientProvider.clientForWorker(i))
+                                        .day(parameters.getSkiDayNumber())
+                                        .phaseLatch(phaseLatch)
+                                        .endLatch(endLatch)
+                                        .requestsPerRound(phase.requestsPerRound())
+                                        .requestMix(requestMix)
+                                        .liftCount(parameters.getLiftCount())
+                                        .startTime(phase.getStartMinute())
+                                        .endTime(phase.getEndMinute())
+                                        .skierSampler(skierSamplerFactory.forWorker(skierIdStart, skierIdStop))
+                                        .random(workerRandom)
+                                        .requestStreamDump(requestStreamDump)
+                                        .requestStreamId(requestStreamId)
+                                        .resortName(parameters.getResortId())
+                                        .phaseIndex(phaseIndex)
+                                        .phaseDeadlineNanos(phaseDeadlineNanos)
+                                        .successCount(successCount)
+                                        .failureCount(failureCount)
+                                        .requestStatistics(requestStatistics)
+                                        .scheduleStartNanos(phaseStartNanos + threadStartOffsetNanos)
+                                        .requestIntervalNanos(threadIntervalNanos)
+                                        .concurrencyTracker(concurrencyTracker)
+                                        .maxInFlight(parameters.getMaxInFlightPerWorker())
+                                        .build();
+                    } else {
+                        worker =
+                                ClientThread.builder()
+                                        .apiClient(apiClientProvider.clientForWorker(i))
+                                        .day(parameters.getSkiDayNumber())
+                                        .phaseLatch(phaseLatch)
+                                        .endLatch(endLatch)
+                                        .requestsPerRound(phase.requestsPerRound())
+                                        .requestMix(requestMix)
+                                        .liftCount(parameters.getLiftCount())
+                                        .startTime(phase.getStartMinute())
+                                        .endTime(phase.getEndMinute())
+                                        .skierSampler(skierSamplerFactory.forWorker(skierIdStart, skierIdStop))
+                                        .random(workerRandom)
+                                        .requestStreamDump(requestStreamDump)
+                                        .requestStreamId(requestStreamId)
+                                        .resortName(parameters.getResortId())
+                                        .phaseIndex(phaseIndex)
+                                        .phaseDeadlineNanos(phaseDeadlineNanos)
+                                        .successCount(successCount)
+                                        .failureCount(failureCount)
+                                        .requestStatistics(requestStatistics)
+                                        .scheduleStartNanos(phaseStartNanos + threadStartOffsetNanos)
+                                        .requestIntervalNanos(threadIntervalNanos)
+                                        .concurrencyTracker(concurrencyTracker)
+                                        .build();
+                    }
+
+                    threadFactory.newThread(worker).start();
                 });
     }
 
     private static void printResults(
             RequestStatistics requestStatistics,
             Parameters parameters,
-            long startTime,
-            long endTime,
+            long startNanos,
+            long endNanos,
             AtomicInteger successCount,
-            AtomicInteger failureCount) {
+            AtomicInteger failureCount,
+            ConcurrencyTracker concurrencyTracker,
+            ConnectionPoolStatistics poolStatistics) {
 
-        double wallTime = (endTime - startTime)/MILLISECONDS_IN_SECOND;
+        double wallTime = (endNanos - startNanos) / NANOSECONDS_IN_SECOND_DOUBLE;
         double throughput = (successCount.get() + failureCount.get()) / wallTime;
 
         System.out.println("Max Threads: " + parameters.getMaxThreadCount());
+        System.out.println("Load Mode: " + parameters.getLoadMode().getPropertyValue());
+        if (parameters.getLoadMode() == LoadMode.OPEN) {
+            System.out.println("Target Rates (req/s): " + parameters.getWorkloadSchedule().getPhases().stream()
+                    .map(phase -> phase.getName() + "=" + phase.getRate())
+                    .collect(Collectors.joining(", ")));
+        }
         System.out.println("Number of Successful Requests Sent: " + successCount);
         System.out.println("Number of Unsuccessful Requests: " + failureCount);
         System.out.println("Total Wall Time(s): " + wallTime);
         System.out.println("Throughput (req/s): " + throughput);
-        System.out.println("Mean POST response time(ms): " + requestStatistics.getMeanPostLatency());
-        System.out.println("Mean GET1 response time(ms): " + requestStatistics.getMeanGet1Latency());
-        System.out.println("Mean GET2 response time(ms): " + requestStatistics.getMeanGet2Latency());
-        System.out.println("Median POST response time(ms): " + requestStatistics.getMedianPostLatency());
-        System.out.println("Median GET1 response time(ms): " + requestStatistics.getMedianGet1Latency());
-        System.out.println("Median GET2 response time(ms): " + requestStatistics.getMedianGet2Latency());
-        System.out.println("Max POST response time(ms): " + requestStatistics.getMaxPostResponseTime());
-        System.out.println("Max GET1 response time(ms): " + requestStatistics.getMaxGet1ResponseTime());
-        System.out.println("Max GET2 response time(ms): " + requestStatistics.getMaxGet2ResponseTime());
-        System.out.println("99th Percentile POST response time(ms): " + requestStatistics.getP99PostResponseTime());
-        System.out.println("99th Percentile GET1 response time(ms): " + requestStatistics.getP99Get1ResponseTime());
-        System.out.println("99th Percentile GET2 response time(ms): " + requestStatistics.getP99Get2ResponseTime());
+        System.out.println("Execution Mode: " + parameters.getExecutionMode().getPropertyValue());
+        System.out.println("Peak Concurrent Clients: " + concurrencyTracker.getPeakActiveClients());
+        System.out.println("Peak In-Flight Requests: " + concurrencyTracker.getPeakInFlightRequests());
+        System.out.println("Throughput per Peak Client (req/s): "
+                + throughput / Math.max(1, concurrencyTracker.getPeakActiveClients()));
+        System.out.println("Seed: " + parameters.getSeed());
+        System.out.println("Skier Distribution: " + parameters.getSkierDistribution().getPropertyValue());
+        System.out.println("Client Topology: " + parameters.getClientTopology().getPropertyValue());
+        System.out.println("Connections Created: " + poolStatistics.getConnectionsCreated());
+        System.out.println("Connection Reuse Ratio: " + poolStatistics.getReuseRatio());
+        System.out.println("Mean Pool Wait, Reused Connections(ms): " + poolStatistics.getMeanPoolWaitMillis());
+        System.out.println("Mean Connect Time, New Connections(ms): " + poolStatistics.getMeanConnectMillis());
+        System.out.println("Idle Evictions: " + poolStatistics.getIdleEvictions());
+        WriterLagStatistics writerLagStatistics = requestStatistics.getWriterLagStatistics();
+        System.out.println("Max Stats Writer Lag(ms): " + writerLagStatistics.getMaxLagMillis());
+        System.out.println("Max Stats Writer Backlog (records): " + writerLagStatistics.getMaxBacklogRecords());
+        System.out.println("Recorder Full-Ring Waits: " + writerLagStatistics.getFullRingWaits());
+        System.out.println("Mean POST response time(ms): " + formatMillis(requestStatistics.getMeanPostLatency())
+                + CORRECTED_LABEL + formatMillis(requestStatistics.getCorrectedMeanPostLatency()) + ")");
+        System.out.println("Mean GET1 response time(ms): " + formatMillis(requestStatistics.getMeanGet1Latency())
+                + CORRECTED_LABEL + formatMillis(requestStatistics.getCorrectedMeanGet1Latency()) + ")");
+        System.out.println("Mean GET2 response time(ms): " + formatMillis(requestStatistics.getMeanGet2Latency())
+                + CORRECTED_LABEL + formatMillis(requestStatistics.getCorrectedMeanGet2Latency()) + ")");
+        System.out.println("Mean GET3 response time(ms): " + formatMillis(requestStatistics.getMeanGet3Latency())
+                + CORRECTED_LABEL + formatMillis(requestStatistics.getCorrectedMeanGet3Latency()) + ")");
+        System.out.println("Percentiles: " + parameters.getPercentiles());
+        for (RequestType requestType : RequestType.values()) {
+            String name = requestType.getMethodName();
+            System.out.println(name + " response time distribution(ms): "
+                    + requestStatistics.getLatencySummary().getLatency().get(name).toDisplayString());
+            System.out.println(name + " corrected response time distribution(ms): "
+                    + requestStatistics.getLatencySummary().getCorrectedLatency().get(name).toDisplayString());
+        }
+        for (PhaseStatistics phaseStatistics : requestStatistics.getLatencySummary().getPhases().values()) {
+            String phase = phaseStatistics.getPhase();
+            System.out.println("Phase " + phase + " requests: " + phaseStatistics.getRequestCount()
+                    + ", wall time(s): " + String.format(LATENCY_FORMAT, phaseStatistics.getWallTimeSeconds())
+                    + ", throughput (req/s): " + String.format(LATENCY_FORMAT, phaseStatistics.getThroughput()));
+            for (RequestType requestType : RequestType.values()) {
+                String name = requestType.getMethodName();
+                System.out.println("Phase " + phase + " " + name + " response time distribution(ms): "
+                        + phaseStatistics.getLatency().get(name).toDisplayString());
+            }
+        }
+    }
+
+    private static void writeLatencySummary(RequestStatistics requestStatistics, String summaryFileName) {
+        try {
+            requestStatistics.getLatencySummary().writeJson(summaryFileName);
+            logger.log(Level.INFO, "Latency summary written to " + summaryFileName);
+        } catch (IOException e) {
+            logger.log(Level.ERROR, "Could not write latency summary: " + e.getMessage());
+        }
+    }
+
+    private static String formatMillis(Double millis) {
+        return String.format(LATENCY_FORMAT, millis);
     }
 }
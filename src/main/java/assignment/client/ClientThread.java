@@ -1,22 +1,20 @@
 package assignment.client;
 
+import assignment.statistics.RequestRecorder;
 import assignment.statistics.RequestStatistics;
+import assignment.statistics.RequestType;
+import com.squareup.okhttp.Call;
 import io.swagger.client.ApiClient;
 import io.swagger.client.ApiException;
 import io.swagger.client.ApiResponse;
-import io.swagger.client.api.SkiersApi;
-import io.swagger.client.model.LiftRide;
-import io.swagger.client.model.SkierVertical;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Collections;
-import java.util.LinkedList;
+import java.util.SplittableRandom;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
@@ -24,144 +22,118 @@ import java.util.stream.IntStream;
 @AllArgsConstructor
 public class ClientThread implements Runnable {
     private static final int MINUTES_IN_DAY = 420;
-    private static final int POST_SUCCESS_CODE = 201;
-    private static final int GET_SUCCESS_CODE = 200;
-    private static final int GET_SUCCESS_CODE_NO_DATA = 204;
 
     private static final Logger logger =
             LogManager.getLogger(ClientThread.class);
 
-    private int skierIdBegin;
-    private int skierIdEnd;
     private int startTime;
     private int endTime;
     private int liftCount;
     private int day;
-    private int getRequestCount;
-    private int getRequestCountPhaseThree;
-    private int postRequestCount;
+    private int requestsPerRound;
+    private RequestMix requestMix;
+    private KeySampler skierSampler;
+    /** Split from the phase's random for this worker alone; the source of every random value it sends. */
+    private SplittableRandom random;
+    /** Null unless the request stream is being dumped. */
+    private RequestStreamDump requestStreamDump;
+    private String requestStreamId;
+
+    private long scheduleStartNanos;
+    private long requestIntervalNanos;
 
     private AtomicInteger successCount;
     private AtomicInteger failureCount;
 
-    private String serverAddress;
     private String resortName;
+    private int phaseIndex;
+    /** System.nanoTime after which no further requests are sent, or RequestSchedule.NO_DEADLINE. */
+    private long phaseDeadlineNanos;
 
     private CountDownLatch phaseLatch;
     private CountDownLatch endLatch;
 
+    private ApiClient apiClient;
     private RequestStatistics requestStatistics;
+    private ConcurrencyTracker concurrencyTracker;
 
     @Override
     public void run() {
-        SkiersApi skiersApi = new SkiersApi();
-        ApiClient apiClient = skiersApi.getApiClient();
-        apiClient.setReadTimeout(120000);
-        apiClient.setWriteTimeout(120000);
-        apiClient.setConnectTimeout(120000);
-
-        apiClient.setBasePath(serverAddress);
-        LinkedList<RequestStatistics.SingleRequestStatistic> threadStats = new LinkedList<>();
-
-        String dayString = String.valueOf(day);
-
-        IntStream.range(0, postRequestCount)
-                .forEach(val -> {
-                    String randSkierId = String.valueOf(
-                            ThreadLocalRandom.current().nextInt(skierIdBegin, skierIdEnd + 1));
-                    String randLiftId = String.valueOf(
-                            ThreadLocalRandom.current().nextInt(1, liftCount + 1));
-                    String randTime = String.valueOf(
-                            ThreadLocalRandom.current().nextDouble(startTime, endTime));
-
-                    LiftRide reqBody = new LiftRide()
-                            .dayID(dayString)
-                            .time(randTime)
-                            .skierID(randSkierId)
-                            .liftID(randLiftId)
-                            .resortID(resortName);
-
-                    try {
-                        long startTime = System.currentTimeMillis();
-
-                        ApiResponse<Void> res = skiersApi.writeNewLiftRideWithHttpInfo(reqBody);
-
-                        incrementCounts(res.getStatusCode() == POST_SUCCESS_CODE);
+        concurrencyTracker.clientStarted();
+        RequestCallFactory callFactory = new RequestCallFactory(
+                apiClient,
+                resortName,
+                day,
+                skierSampler,
+                liftCount,
+                startTime,
+                endTime,
+                random,
+                requestStreamDump,
+                requestStreamId);
+        RequestRecorder recorder = requestStatistics.newRecorder(phaseIndex);
+        RequestSchedule schedule = new RequestSchedule(scheduleStartNanos, requestIntervalNanos, phaseDeadlineNanos);
+
+        for (int round = 0; schedule.startsRound(round); round++) {
+            sendRequestMix(callFactory, recorder, schedule, (long) round * requestsPerRound);
+            callFactory.flushRequestStream();
+        }
 
-                        long endTime = System.currentTimeMillis();
-                        RequestStatistics.SingleRequestStatistic stats =
-                                RequestStatistics.SingleRequestStatistic.builder()
-                                        .startTime(startTime)
-                                        .endTime(endTime)
-                                        .responseCode(res.getStatusCode())
-                                        .requestType(RequestStatistics.POST_METHOD_NAME_ONE)
-                                        .build();
-                        threadStats.add(stats);
-                    } catch (ApiException e) {
-                        failureCount.incrementAndGet();
-                        logger.log(Level.ERROR, e.getMessage());
-                    }
-                });
+        recorder.close();
+        concurrencyTracker.clientFinished();
+        phaseLatch.countDown();
+        endLatch.countDown();
+    }
 
-        IntStream.range(0, getRequestCount)
+    private void sendRequestMix(
+            RequestCallFactory callFactory,
+            RequestRecorder recorder,
+            RequestSchedule schedule,
+            long firstRequestIndex) {
+        IntStream.range(0, requestsPerRound)
+                .filter(val -> schedule.hasTimeRemaining())
                 .forEach(val -> {
-                    String randSkierId = String.valueOf(
-                            ThreadLocalRandom.current().nextInt(skierIdBegin, skierIdEnd + 1));
+                    RequestType requestType = requestMix.next(random);
+                    long slotNanos = schedule.awaitSlot(firstRequestIndex + val);
+                    concurrencyTracker.requestStarted();
                     try {
-                        long startTime = System.currentTimeMillis();
-
-                        ApiResponse<SkierVertical> res =
-                                skiersApi.getSkierDayVerticalWithHttpInfo(resortName, dayString, randSkierId);
-
-                        incrementCounts(res.getStatusCode() == GET_SUCCESS_CODE
-                                || res.getStatusCode() == GET_SUCCESS_CODE_NO_DATA);
-
-                        long endTime = System.currentTimeMillis();
-                        RequestStatistics.SingleRequestStatistic stats =
-                                RequestStatistics.SingleRequestStatistic.builder()
-                                        .startTime(startTime)
-                                        .endTime(endTime)
-                                        .responseCode(res.getStatusCode())
-                                        .requestType(RequestStatistics.GET_METHOD_NAME_ONE)
-                                        .build();
-                        threadStats.add(stats);
+                        sendRequest(callFactory, recorder, schedule, requestType, slotNanos);
                     } catch (ApiException e) {
                         failureCount.incrementAndGet();
                         logger.log(Level.ERROR, e.getMessage());
+                    } finally {
+                        concurrencyTracker.requestFinished();
                     }
                 });
+    }
 
-        IntStream.range(0, getRequestCountPhaseThree)
-                .forEach(val -> {
-                    String randSkierId = String.valueOf(
-                            ThreadLocalRandom.current().nextInt(skierIdBegin, skierIdEnd + 1));
-                    try {
-                        long startTime = System.currentTimeMillis();
-
-                        ApiResponse<SkierVertical> res =
-                                skiersApi.getSkierResortTotalsWithHttpInfo(
-                                        randSkierId, Collections.singletonList(resortName));
-                        incrementCounts(res.getStatusCode() == GET_SUCCESS_CODE
-                                || res.getStatusCode() == GET_SUCCESS_CODE_NO_DATA);
-
-                        long endTime = System.currentTimeMillis();
-                        RequestStatistics.SingleRequestStatistic stats =
-                                RequestStatistics.SingleRequestStatistic.builder()
-                                        .startTime(startTime)
-                                        .endTime(endTime)
-                                        .responseCode(res.getStatusCode())
-                                        .requestType(RequestStatistics.GET_METHOD_NAME_TWO)
-                                        .build();
-                        threadStats.add(stats);
-                    } catch (ApiException e) {
-                        failureCount.incrementAndGet();
-                        logger.log(Level.ERROR, e.getMessage());
-                    }
-                });
+    /**
+     * Records the request whether or not it succeeds. A failed request keeps its HTTP status code,
+     * or 0 when it failed with an I/O error.
+     */
+    private void sendRequest(
+            RequestCallFactory callFactory,
+            RequestRecorder recorder,
+            RequestSchedule schedule,
+            RequestType requestType,
+            long slotNanos) throws ApiException {
+        Call call = callFactory.newCall(requestType);
+        long startNanos = System.nanoTime();
+        long intendedStartNanos = schedule.intendedStartNanos(slotNanos, startNanos);
+
+        int responseCode;
+        try {
+            ApiResponse<Object> res = apiClient.execute(call, RequestCallFactory.responseType(requestType));
+            responseCode = res.getStatusCode();
+            incrementCounts(RequestCallFactory.isSuccessCode(requestType, responseCode));
+        } catch (ApiException e) {
+            responseCode = e.getCode();
+            failureCount.incrementAndGet();
+            logger.log(Level.ERROR, e.getMessage());
+        }
 
-        requestStatistics.addStatsToQueue(threadStats);
-        phaseLatch.countDown();
-        endLatch.countDown();
+        long endNanos = System.nanoTime();
+        recorder.record(requestType, responseCode, intendedStartNanos, startNanos, endNanos);
     }
 
     private void incrementCounts(boolean isCorrectResponse) {
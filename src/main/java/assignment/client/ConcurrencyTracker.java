@@ -0,0 +1,49 @@
+package assignment.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrencyTracker {
+    private final AtomicInteger activeClients = new AtomicInteger(0);
+    private final AtomicInteger peakActiveClients = new AtomicInteger(0);
+    private final AtomicInteger inFlightRequests = new AtomicInteger(0);
+    private final AtomicInteger peakInFlightRequests = new AtomicInteger(0);
+
+    public void clientStarted() {
+        updatePeak(peakActiveClients, activeClients.incrementAndGet());
+    }
+
+    public void clientFinished() {
+        activeClients.decrementAndGet();
+    }
+
+    public void requestStarted() {
+        updatePeak(peakInFlightRequests, inFlightRequests.incrementAndGet());
+    }
+
+    public void requestFinished() {
+        inFlightRequests.decrementAndGet();
+    }
+
+    public int getActiveClients() {
+        return activeClients.get();
+    }
+
+    public int getPeakActiveClients() {
+        return peakActiveClients.get();
+    }
+
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    public int getPeakInFlightRequests() {
+        return peakInFlightRequests.get();
+    }
+
+    private static void updatePeak(AtomicInteger peak, int candidate) {
+        int currentPeak = peak.get();
+        while (candidate > currentPeak && !peak.compareAndSet(currentPeak, candidate)) {
+            currentPeak = peak.get();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package assignment.client;
+
+import com.squareup.okhttp.Connection;
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPoolStatistics {
+    private static final double NANOSECONDS_IN_MILLISECOND = 1_000_000.0;
+
+    private final ThreadLocal<long[]> callStartNanos = ThreadLocal.withInitial(() -> new long[1]);
+    private final Set<Connection> knownConnections = ConcurrentHashMap.newKeySet();
+    private final Queue<ConnectionPool> connectionPools = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder exchanges = new LongAdder();
+    private final LongAdder reusedExchanges = new LongAdder();
+    private final LongAdder poolWaitNanos = new LongAdder();
+    private final LongAdder connectNanos = new LongAdder();
+
+    private final Interceptor applicationInterceptor = this::markCallStart;
+    private final Interceptor networkInterceptor = this::recordExchange;
+
+    void register(OkHttpClient httpClient) {
+        connectionPools.add(httpClient.getConnectionPool());
+        httpClient.interceptors().add(applicationInterceptor);
+        httpClient.networkInterceptors().add(networkInterceptor);
+    }
+
+    public long getConnectionsCreated() {
+        return knownConnections.size();
+    }
+
+    public double getReuseRatio() {
+        long totalExchanges = exchanges.sum();
+        return totalExchanges == 0 ? 0.0 : (double) reusedExchanges.sum() / totalExchanges;
+    }
+
+    public double getMeanPoolWaitMillis() {
+        long reused = reusedExchanges.sum();
+        return reused == 0 ? 0.0 : poolWaitNanos.sum() / NANOSECONDS_IN_MILLISECOND / reused;
+    }
+
+    public double getMeanConnectMillis() {
+        long created = getConnectionsCreated();
+        return created == 0 ? 0.0 : connectNanos.sum() / NANOSECONDS_IN_MILLISECOND / created;
+    }
+
+    /**
+     * Connections that were opened during the run but are no longer pooled, which covers idle
+     * evictions as well as connections the server closed.
+     */
+    public long getIdleEvictions() {
+        long stillPooled = connectionPools.stream()
+                .distinct()
+                .mapToLong(ConnectionPool::getConnectionCount)
+                .sum();
+        return Math.max(0, getConnectionsCreated() - stillPooled);
+    }
+
+    private Response markCallStart(Interceptor.Chain chain) throws IOException {
+        callStartNanos.get()[0] = System.nanoTime();
+        return chain.proceed(chain.request());
+    }
+
+    /**
+     * The application interceptor runs before OkHttp acquires a connection and the network
+     * interceptor after, on the same thread, so the gap between them is the time spent waiting
+     * on the pool (reused connection) or connecting (new connection).
+     */
+    private Response recordExchange(Interceptor.Chain chain) throws IOException {
+        long acquireNanos = System.nanoTime() - callStartNanos.get()[0];
+        exchanges.increment();
+        if (knownConnections.add(chain.connection())) {
+            connectNanos.add(acquireNanos);
+        } else {
+            reusedExchanges.increment();
+            poolWaitNanos.add(acquireNanos);
+        }
+        return chain.proceed(chain.request());
+    }
+}
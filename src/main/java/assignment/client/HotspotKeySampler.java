@@ -0,0 +1,31 @@
+package assignment.client;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sends {@code trafficPercent} of draws to the first {@code keyPercent} of the keys and the rest
+ * to the remaining keys, uniformly within each set.
+ */
+class HotspotKeySampler implements KeySampler {
+    private static final double PERCENT = 100.0;
+
+    private final int firstKey;
+    private final int hotKeyCount;
+    private final int coldKeyCount;
+    private final double hotTrafficFraction;
+
+    HotspotKeySampler(int firstKey, int keyCount, double trafficPercent, double keyPercent) {
+        this.firstKey = firstKey;
+        this.hotKeyCount = Math.max(1, Math.min(keyCount, (int) Math.round(keyCount * keyPercent / PERCENT)));
+        this.coldKeyCount = keyCount - hotKeyCount;
+        this.hotTrafficFraction = trafficPercent / PERCENT;
+    }
+
+    @Override
+    public int nextKey(SplittableRandom random) {
+        if (coldKeyCount == 0 || random.nextDouble() < hotTrafficFraction) {
+            return firstKey + random.nextInt(hotKeyCount);
+        }
+        return firstKey + hotKeyCount + random.nextInt(coldKeyCount);
+    }
+}
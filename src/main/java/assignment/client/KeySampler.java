@@ -0,0 +1,12 @@
+package assignment.client;
+
+import java.util.SplittableRandom;
+
+/**
+ * Picks the next key, e.g. skier ID, a worker sends. Every sampler precomputes what it needs when
+ * it is built so a draw is O(1). Only {@link SequentialKeySampler} keeps state between draws;
+ * the others can be shared by any number of workers.
+ */
+interface KeySampler {
+    int nextKey(SplittableRandom random);
+}
@@ -0,0 +1,115 @@
+package assignment.client;
+
+import assignment.statistics.IntervalLatencyStatistics;
+import assignment.statistics.LatencyHistogram;
+import assignment.statistics.RequestType;
+import assignment.statistics.WriterLagStatistics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prints throughput, error rate, in-flight requests, stats writer lag and per-type latency
+ * percentiles for the last interval while a run is in progress. Latencies come from the
+ * histograms the stats writer fills as it drains the recorders; counts come from the shared
+ * success and failure counters.
+ */
+public class LiveMetricsReporter {
+    private static final double NANOSECONDS_IN_SECOND = 1_000_000_000.0;
+    private static final double MICROSECONDS_IN_MILLISECOND = 1_000.0;
+    private static final String REPORTER_THREAD_NAME = "live-metrics-reporter";
+
+    private final int reportIntervalSeconds;
+    private final AtomicInteger successCount;
+    private final AtomicInteger failureCount;
+    private final ConcurrencyTracker concurrencyTracker;
+    private final IntervalLatencyStatistics intervalLatencyStatistics;
+    private final WriterLagStatistics writerLagStatistics;
+    private final LatencyHistogram[] intervalSnapshot = new LatencyHistogram[RequestType.values().length];
+
+    private ScheduledExecutorService scheduler;
+    private long runStartNanos;
+    private long lastReportNanos;
+    private int lastSuccessCount;
+    private int lastFailureCount;
+
+    public LiveMetricsReporter(
+            int reportIntervalSeconds,
+            AtomicInteger successCount,
+            AtomicInteger failureCount,
+            ConcurrencyTracker concurrencyTracker,
+            IntervalLatencyStatistics intervalLatencyStatistics,
+            WriterLagStatistics writerLagStatistics) {
+        this.reportIntervalSeconds = reportIntervalSeconds;
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.concurrencyTracker = concurrencyTracker;
+        this.intervalLatencyStatistics = intervalLatencyStatistics;
+        this.writerLagStatistics = writerLagStatistics;
+        for (int type = 0; type < intervalSnapshot.length; type++) {
+            intervalSnapshot[type] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Starts reporting on a daemon thread. Does nothing when the interval is 0.
+     */
+    public void start() {
+        if (reportIntervalSeconds <= 0) {
+            return;
+        }
+        runStartNanos = System.nanoTime();
+        lastReportNanos = runStartNanos;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread reporterThread = new Thread(runnable, REPORTER_THREAD_NAME);
+            reporterThread.setDaemon(true);
+            return reporterThread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, reportIntervalSeconds, reportIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void report() {
+        long now = System.nanoTime();
+        double intervalSeconds = (now - lastReportNanos) / NANOSECONDS_IN_SECOND;
+        int currentSuccessCount = successCount.get();
+        int currentFailureCount = failureCount.get();
+        int intervalSuccesses = currentSuccessCount - lastSuccessCount;
+        int intervalFailures = currentFailureCount - lastFailureCount;
+
+        intervalLatencyStatistics.snapshotAndReset(intervalSnapshot);
+
+        StringBuilder line = new StringBuilder()
+                .append(String.format(
+                        "[live %6.0fs] %.1f req/s | ok %.1f/s | failed %.1f/s | in-flight %d | writer lag %.1f ms (%d)",
+                        (now - runStartNanos) / NANOSECONDS_IN_SECOND,
+                        (intervalSuccesses + intervalFailures) / intervalSeconds,
+                        intervalSuccesses / intervalSeconds,
+                        intervalFailures / intervalSeconds,
+                        concurrencyTracker.getInFlightRequests(),
+                        writerLagStatistics.getCurrentLagMillis(),
+                        writerLagStatistics.getBacklogRecords()));
+        for (RequestType requestType : RequestType.values()) {
+            LatencyHistogram histogram = intervalSnapshot[requestType.ordinal()];
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            line.append(String.format(" | %s p50 %.3f p99 %.3f ms",
+                    requestType.getMethodName(),
+                    histogram.valueAtQuantile(0.5) / MICROSECONDS_IN_MILLISECOND,
+                    histogram.valueAtQuantile(0.99) / MICROSECONDS_IN_MILLISECOND));
+        }
+        System.out.println(line);
+
+        lastReportNanos = now;
+        lastSuccessCount = currentSuccessCount;
+        lastFailureCount = currentFailureCount;
+    }
+}
@@ -0,0 +1,156 @@
+package assignment.client;
+
+import assignment.statistics.RequestType;
+import com.google.gson.reflect.TypeToken;
+import com.squareup.okhttp.Call;
+import io.swagger.client.ApiClient;
+import io.swagger.client.ApiException;
+import io.swagger.client.api.ResortsApi;
+import io.swagger.client.api.SkiersApi;
+import io.swagger.client.model.LiftRide;
+import io.swagger.client.model.SkierVertical;
+import io.swagger.client.model.TopTen;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds the call for each {@link RequestType} with a skier from the worker's {@link KeySampler}
+ * and, for lift rides, a random lift and time within the phase. Shared by the blocking and the
+ * async workers so both send the same requests for a given mix. All values come from the worker's
+ * own {@link SplittableRandom}, so a worker's requests depend only on the run's seed; when a
+ * {@link RequestStreamDump} is given they are also collected and handed to it once per round.
+ */
+class RequestCallFactory {
+    private static final int POST_SUCCESS_CODE = 201;
+    private static final int GET_SUCCESS_CODE = 200;
+    private static final int GET_SUCCESS_CODE_NO_DATA = 204;
+    private static final Type SKIER_VERTICAL_TYPE = new TypeToken<SkierVertical>(){}.getType();
+    private static final Type TOP_TEN_TYPE = new TypeToken<TopTen>(){}.getType();
+    private static final char STREAM_SEPARATOR = ',';
+    private static final char STREAM_LINE_END = '\n';
+    private static final String NO_VALUE = "";
+
+    private final SkiersApi skiersApi;
+    private final ResortsApi resortsApi;
+    private final String resortName;
+    private final String dayString;
+    private final List<String> resortNames;
+    private final List<String> dayIds;
+    private final KeySampler skierSampler;
+    private final int liftCount;
+    private final int startTime;
+    private final int endTime;
+    private final SplittableRandom random;
+    private final RequestStreamDump requestStreamDump;
+    private final String requestStreamId;
+    private final StringBuilder pendingStreamLines = new StringBuilder();
+    private long streamSequence;
+
+    RequestCallFactory(
+            ApiClient apiClient,
+            String resortName,
+            int day,
+            KeySampler skierSampler,
+            int liftCount,
+            int startTime,
+            int endTime,
+            SplittableRandom random,
+            RequestStreamDump requestStreamDump,
+            String requestStreamId) {
+        this.skiersApi = new SkiersApi(apiClient);
+        this.resortsApi = new ResortsApi(apiClient);
+        this.resortName = resortName;
+        this.dayString = String.valueOf(day);
+        this.resortNames = Collections.singletonList(resortName);
+        this.dayIds = Collections.singletonList(dayString);
+        this.skierSampler = skierSampler;
+        this.liftCount = liftCount;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.random = random;
+        this.requestStreamDump = requestStreamDump;
+        this.requestStreamId = requestStreamId;
+    }
+
+    Call newCall(RequestType requestType) throws ApiException {
+        switch (requestType) {
+            case POST:
+                String randSkierId = nextSkierId();
+                String randLiftId = String.valueOf(random.nextInt(1, liftCount + 1));
+                String randTime = String.valueOf(random.nextDouble(startTime, endTime));
+                appendToStream(requestType, randSkierId, randLiftId, randTime);
+                LiftRide reqBody = new LiftRide()
+                        .dayID(dayString)
+                        .time(randTime)
+                        .skierID(randSkierId)
+                        .liftID(randLiftId)
+                        .resortID(resortName);
+                return skiersApi.writeNewLiftRideCall(reqBody, null, null);
+            case GET1:
+                String dayVerticalSkierId = nextSkierId();
+                appendToStream(requestType, dayVerticalSkierId, NO_VALUE, NO_VALUE);
+                return skiersApi.getSkierDayVerticalCall(resortName, dayString, dayVerticalSkierId, null, null);
+            case GET2:
+                String resortTotalsSkierId = nextSkierId();
+                appendToStream(requestType, resortTotalsSkierId, NO_VALUE, NO_VALUE);
+                return skiersApi.getSkierResortTotalsCall(resortTotalsSkierId, resortNames, null, null);
+            case GET3:
+                appendToStream(requestType, NO_VALUE, NO_VALUE, NO_VALUE);
+                return resortsApi.getTopTenVertCall(resortNames, dayIds, null, null);
+            default:
+                throw new IllegalArgumentException("Unknown request type: " + requestType);
+        }
+    }
+
+    /**
+     * Hands the requests built since the last flush to the dump, if there is one.
+     */
+    void flushRequestStream() {
+        if (requestStreamDump != null && pendingStreamLines.length() > 0) {
+            requestStreamDump.write(pendingStreamLines);
+            pendingStreamLines.setLength(0);
+        }
+    }
+
+    private String nextSkierId() {
+        return String.valueOf(skierSampler.nextKey(random));
+    }
+
+    private void appendToStream(RequestType requestType, String skierId, String liftId, String time) {
+        if (requestStreamDump == null) {
+            return;
+        }
+        pendingStreamLines.append(requestStreamId)
+                .append(STREAM_SEPARATOR).append(streamSequence++)
+                .append(STREAM_SEPARATOR).append(requestType.getMethodName())
+                .append(STREAM_SEPARATOR).append(skierId)
+                .append(STREAM_SEPARATOR).append(liftId)
+                .append(STREAM_SEPARATOR).append(time)
+                .append(STREAM_LINE_END);
+    }
+
+    /**
+     * @return the type the response body is read into, or null when the body is discarded
+     */
+    static Type responseType(RequestType requestType) {
+        switch (requestType) {
+            case GET1:
+            case GET2:
+                return SKIER_VERTICAL_TYPE;
+            case GET3:
+                return TOP_TEN_TYPE;
+            default:
+                return null;
+        }
+    }
+
+    static boolean isSuccessCode(RequestType requestType, int statusCode) {
+        if (requestType == RequestType.POST) {
+            return statusCode == POST_SUCCESS_CODE;
+        }
+        return statusCode == GET_SUCCESS_CODE || statusCode == GET_SUCCESS_CODE_NO_DATA;
+    }
+}
@@ -0,0 +1,44 @@
+package assignment.client;
+
+import assignment.WorkloadPhase;
+import assignment.statistics.RequestType;
+
+import java.util.SplittableRandom;
+
+/**
+ * A weighted choice of {@link RequestType}, sampled through an {@link AliasTable}. The mix is
+ * built once per phase and shared read-only by its workers, so choosing the next request is O(1)
+ * and allocation free whatever the number of types.
+ */
+class RequestMix {
+    private static final RequestType[] REQUEST_TYPES = RequestType.values();
+
+    private final AliasTable aliasTable;
+
+    /**
+     * @param weights relative weight of each request type, indexed by ordinal
+     */
+    RequestMix(long[] weights) {
+        if (weights.length != REQUEST_TYPES.length) {
+            throw new IllegalArgumentException("Expected a weight for each of " + REQUEST_TYPES.length + " types");
+        }
+        double[] doubleWeights = new double[weights.length];
+        for (int type = 0; type < weights.length; type++) {
+            doubleWeights[type] = weights[type];
+        }
+        aliasTable = new AliasTable(doubleWeights);
+    }
+
+    static RequestMix forPhase(WorkloadPhase phase) {
+        long[] weights = new long[REQUEST_TYPES.length];
+        weights[RequestType.POST.ordinal()] = phase.getPostRequestCount();
+        weights[RequestType.GET1.ordinal()] = phase.getGet1RequestCount();
+        weights[RequestType.GET2.ordinal()] = phase.getGet2RequestCount();
+        weights[RequestType.GET3.ordinal()] = phase.getGet3RequestCount();
+        return new RequestMix(weights);
+    }
+
+    RequestType next(SplittableRandom random) {
+        return REQUEST_TYPES[aliasTable.next(random)];
+    }
+}
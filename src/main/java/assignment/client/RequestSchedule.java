@@ -0,0 +1,62 @@
+package assignment.client;
+
+import java.util.concurrent.locks.LockSupport;
+
+class RequestSchedule {
+    static final long NO_SCHEDULED_SLOT = Long.MIN_VALUE;
+    static final long NO_DEADLINE = Long.MIN_VALUE;
+
+    private final long scheduleStartNanos;
+    private final long requestIntervalNanos;
+    private final long deadlineNanos;
+
+    RequestSchedule(long scheduleStartNanos, long requestIntervalNanos, long deadlineNanos) {
+        this.scheduleStartNanos = scheduleStartNanos;
+        this.requestIntervalNanos = requestIntervalNanos;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * A phase bounded by request counts sends its worker's request mix once; a phase bounded by
+     * duration repeats it until the deadline passes.
+     */
+    boolean startsRound(int round) {
+        return round == 0 || (deadlineNanos != NO_DEADLINE && hasTimeRemaining());
+    }
+
+    boolean hasTimeRemaining() {
+        return deadlineNanos == NO_DEADLINE || deadlineNanos - System.nanoTime() > 0;
+    }
+
+    /**
+     * In open-loop mode every request owns a fixed slot on its worker's timeline. Slots are never
+     * shifted when a response is slow, so a worker that falls behind sends its overdue requests
+     * back to back instead of silently lowering the offered rate.
+     *
+     * @return the nanoTime of the slot, or {@link #NO_SCHEDULED_SLOT} in closed-loop mode
+     */
+    long awaitSlot(long requestIndex) {
+        if (requestIntervalNanos <= 0) {
+            return NO_SCHEDULED_SLOT;
+        }
+        long slotNanos = scheduleStartNanos + requestIndex * requestIntervalNanos;
+        long waitNanos = slotNanos - System.nanoTime();
+        while (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+            waitNanos = slotNanos - System.nanoTime();
+        }
+        return slotNanos;
+    }
+
+    /**
+     * A request delayed by a stalled predecessor is charged for the time it spent waiting to be
+     * sent, so its intended start is its slot. Closed-loop requests have no slot, so their
+     * intended start is their actual start.
+     */
+    long intendedStartNanos(long slotNanos, long actualStartNanos) {
+        if (slotNanos == NO_SCHEDULED_SLOT || slotNanos - actualStartNanos > 0) {
+            return actualStartNanos;
+        }
+        return slotNanos;
+    }
+}
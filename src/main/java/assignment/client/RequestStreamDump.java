@@ -0,0 +1,46 @@
+package assignment.client;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * The generated request stream of a run, one line per request:
+ * {@code phase,worker,sequence,method,skierId,liftId,time}. With the same seed and schedule every
+ * worker generates the same lines, so two runs can be compared line by line. Workers hand over
+ * their lines once per round and run concurrently, so sort the file before diffing it.
+ */
+class RequestStreamDump implements Closeable {
+    static final String HEADER = "Phase,Worker,Sequence,RequestMethod,SkierId,LiftId,Time";
+
+    private static final Logger logger =
+            LogManager.getLogger(RequestStreamDump.class);
+
+    private final BufferedWriter writer;
+
+    RequestStreamDump(String fileName) throws IOException {
+        this.writer = Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        writer.newLine();
+    }
+
+    synchronized void write(CharSequence lines) {
+        try {
+            writer.append(lines);
+        } catch (IOException e) {
+            logger.log(Level.ERROR, "Could not write request stream: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,24 @@
+package assignment.client;
+
+import java.util.SplittableRandom;
+
+/**
+ * Walks the keys in order and wraps around. Holds a cursor, so each worker needs its own.
+ */
+class SequentialKeySampler implements KeySampler {
+    private final int firstKey;
+    private final int keyCount;
+    private int cursor;
+
+    SequentialKeySampler(int firstKey, int keyCount) {
+        this.firstKey = firstKey;
+        this.keyCount = keyCount;
+    }
+
+    @Override
+    public int nextKey(SplittableRandom random) {
+        int key = firstKey + cursor;
+        cursor = cursor + 1 == keyCount ? 0 : cursor + 1;
+        return key;
+    }
+}
@@ -0,0 +1,48 @@
+package assignment.client;
+
+import assignment.KeyDistribution;
+import assignment.Parameters;
+
+/**
+ * Uniform and sequential skier IDs stay within each worker's own slice of the skiers, as they
+ * always have. Zipfian and hotspot IDs are drawn from all skiers through one sampler shared by
+ * every worker, so the same skiers are hot for the whole run and the table is built only once.
+ */
+class SkierSamplerFactory {
+    private static final int FIRST_SKIER_ID = 1;
+
+    private final KeyDistribution distribution;
+    private final KeySampler populationSampler;
+
+    SkierSamplerFactory(Parameters parameters) {
+        this.distribution = parameters.getSkierDistribution();
+        int skierCount = Math.max(1, parameters.getSkierCount());
+        switch (distribution) {
+            case ZIPFIAN:
+                populationSampler = new ZipfianKeySampler(FIRST_SKIER_ID, skierCount, parameters.getZipfExponent());
+                break;
+            case HOTSPOT:
+                populationSampler = new HotspotKeySampler(
+                        FIRST_SKIER_ID,
+                        skierCount,
+                        parameters.getHotspotTrafficPercent(),
+                        parameters.getHotspotKeyPercent());
+                break;
+            default:
+                populationSampler = null;
+        }
+    }
+
+    KeySampler forWorker(int skierIdBegin, int skierIdEnd) {
+        int skierCount = skierIdEnd - skierIdBegin + 1;
+        switch (distribution) {
+            case ZIPFIAN:
+            case HOTSPOT:
+                return populationSampler;
+            case SEQUENTIAL:
+                return new SequentialKeySampler(skierIdBegin, skierCount);
+            default:
+                return new UniformKeySampler(skierIdBegin, skierCount);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package assignment.client;
+
+import java.util.SplittableRandom;
+
+class UniformKeySampler implements KeySampler {
+    private final int firstKey;
+    private final int keyCount;
+
+    UniformKeySampler(int firstKey, int keyCount) {
+        this.firstKey = firstKey;
+        this.keyCount = keyCount;
+    }
+
+    @Override
+    public int nextKey(SplittableRandom random) {
+        return firstKey + random.nextInt(keyCount);
+    }
+}
@@ -0,0 +1,23 @@
+package assignment.client;
+
+import assignment.ExecutionMode;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+public class WorkerThreadFactory {
+    private WorkerThreadFactory() {
+    }
+
+    /**
+     * Parameters rejects the virtual mode on a JVM without virtual threads, so a missing virtual thread
+     * factory is a bug rather than a reason to quietly run thousands of platform threads.
+     */
+    public static ThreadFactory forMode(ExecutionMode executionMode) {
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            return ExecutionMode.virtualThreadFactory()
+                    .orElseThrow(() -> new IllegalStateException("Virtual threads unavailable on this JVM"));
+        }
+        return Executors.defaultThreadFactory();
+    }
+}
@@ -0,0 +1,27 @@
+package assignment.client;
+
+import java.util.SplittableRandom;
+
+/**
+ * Key {@code firstKey + k} is drawn with probability proportional to {@code 1 / (k + 1)^exponent},
+ * so the lowest keys are the hottest. The exact distribution is held in an {@link AliasTable},
+ * twelve bytes per key, built once when the sampler is created.
+ */
+class ZipfianKeySampler implements KeySampler {
+    private final int firstKey;
+    private final AliasTable aliasTable;
+
+    ZipfianKeySampler(int firstKey, int keyCount, double exponent) {
+        this.firstKey = firstKey;
+        double[] weights = new double[keyCount];
+        for (int rank = 0; rank < keyCount; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, exponent);
+        }
+        this.aliasTable = new AliasTable(weights);
+    }
+
+    @Override
+    public int nextKey(SplittableRandom random) {
+        return firstKey + aliasTable.next(random);
+    }
+}
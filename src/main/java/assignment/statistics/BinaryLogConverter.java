@@ -0,0 +1,56 @@
+package assignment.statistics;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Converts a binary request log to the CSV layout the client writes, so the GraphsAndFigures
+ * notebook can be used on runs recorded with {@code outputFormat=binary}.
+ *
+ * Usage: {@code BinaryLogConverter <input.bin> [output.csv]}
+ */
+public class BinaryLogConverter {
+    private static final String BINARY_EXTENSION = ".bin";
+    private static final String CSV_EXTENSION = ".csv";
+
+    private static final Logger logger = LogManager.getLogger(BinaryLogConverter.class);
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: BinaryLogConverter <input.bin> [output.csv]");
+            return;
+        }
+        String inputFileName = args[0];
+        String outputFileName = args.length > 1 ? args[1] : csvFileNameFor(inputFileName);
+
+        try {
+            long converted = convert(inputFileName, outputFileName);
+            System.out.println("Converted " + converted + " requests to " + outputFileName);
+        } catch (IOException e) {
+            logger.log(Level.FATAL, e.getMessage());
+        }
+    }
+
+    public static long convert(String inputFileName, String outputFileName) throws IOException {
+        BinaryLogReader reader = new BinaryLogReader(Paths.get(inputFileName));
+        CsvRecordFile csvRecordFile =
+                new CsvRecordFile(outputFileName, reader.readClockAnchor(), reader.readPhaseNames());
+        csvRecordFile.open();
+        try {
+            return reader.readRecords(csvRecordFile::writeRecord);
+        } finally {
+            csvRecordFile.close();
+        }
+    }
+
+    private static String csvFileNameFor(String inputFileName) {
+        String baseName = inputFileName.endsWith(BINARY_EXTENSION)
+                ? inputFileName.substring(0, inputFileName.length() - BINARY_EXTENSION.length())
+                : inputFileName;
+        return baseName + CSV_EXTENSION;
+    }
+}
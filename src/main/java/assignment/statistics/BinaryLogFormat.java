@@ -0,0 +1,51 @@
+package assignment.statistics;
+
+/**
+ * Layout of the binary request log. A header (magic, version, record size, anchor epoch millis,
+ * header size and the run's phase names) is followed by fixed-width 24 byte records:
+ *
+ * <pre>
+ *  0  long   start offset from the anchor, nanoseconds
+ *  8  int    latency, whole microseconds
+ * 12  int    corrected latency (end minus intended start), whole microseconds
+ * 16  short  latency nanoseconds below the microsecond
+ * 18  short  corrected latency nanoseconds below the microsecond
+ * 20  short  response code
+ * 22  byte   request type ordinal + 1, so a zero byte marks the unwritten end of a segment
+ * 23  byte   phase index + 1 into the header's phase names, zero when the request has no phase
+ * </pre>
+ *
+ * The end and intended start are thus kept to the nanosecond, and a converted log has the same
+ * timestamps and latencies as the CSV the client would have written. The log ends at the first record with a zero request type byte rather
+ * than at the end of the file, since the writer cannot always truncate the file on close. About
+ * half the size of a CSV line, and read back without any parsing.
+ */
+final class BinaryLogFormat {
+    static final long MAGIC = 0x52514C4F47424E31L;
+    static final int VERSION = 1;
+    static final int FIXED_HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 24;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 8;
+    static final int RECORD_SIZE_OFFSET = 12;
+    static final int ANCHOR_EPOCH_MILLIS_OFFSET = 16;
+    static final int HEADER_SIZE_OFFSET = 24;
+    static final int PHASE_COUNT_OFFSET = 28;
+    static final int MAX_PHASE_COUNT = 255;
+
+    static final int START_OFFSET_NANOS_OFFSET = 0;
+    static final int LATENCY_MICROS_OFFSET = 8;
+    static final int CORRECTED_LATENCY_MICROS_OFFSET = 12;
+    static final int LATENCY_SUB_MICROS_NANOS_OFFSET = 16;
+    static final int CORRECTED_LATENCY_SUB_MICROS_NANOS_OFFSET = 18;
+    static final int RESPONSE_CODE_OFFSET = 20;
+    static final int REQUEST_TYPE_OFFSET = 22;
+    static final int PHASE_OFFSET = 23;
+
+    static final byte END_OF_RECORDS = 0;
+    static final byte UNTAGGED_PHASE = 0;
+
+    private BinaryLogFormat() {
+    }
+}
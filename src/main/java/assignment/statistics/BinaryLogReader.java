@@ -0,0 +1,206 @@
+package assignment.statistics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a binary request log by mapping it read-only and decoding records in place. Times are
+ * handed to the consumer as nanosecond offsets from the log's anchor, which the anchor from
+ * {@link #readClockAnchor()} turns back into epoch timestamps, and phases as indexes into
+ * {@link #readPhaseNames()}, or {@link PhaseLatencyHistograms#UNTAGGED_PHASE_INDEX}.
+ */
+class BinaryLogReader {
+    private static final int RECORDS_PER_WINDOW = 1 << 25;
+    private static final long NANOSECONDS_IN_MICROSECOND = 1_000L;
+
+    private final Path logPath;
+
+    BinaryLogReader(Path logPath) {
+        this.logPath = logPath;
+    }
+
+    static boolean isBinaryLog(Path path) throws IOException {
+        if (Files.size(path) < BinaryLogFormat.FIXED_HEADER_SIZE) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Long.BYTES);
+            int bytesRead = 0;
+            while (magic.hasRemaining() && bytesRead != -1) {
+                bytesRead = channel.read(magic);
+            }
+            return magic.getLong(0) == BinaryLogFormat.MAGIC;
+        }
+    }
+
+    ClockAnchor readClockAnchor() throws IOException {
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            return readHeader(channel).clockAnchor;
+        }
+    }
+
+    List<String> readPhaseNames() throws IOException {
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            return readHeader(channel).phaseNames;
+        }
+    }
+
+    /**
+     * Records are written in order, so the {@link BinaryLogFormat#END_OF_RECORDS} marker that ends
+     * a log left untruncated is found by binary search rather than a scan of its zeroed tail.
+     */
+    long recordCount() throws IOException {
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            int headerSize = readHeader(channel).size;
+            ByteBuffer storedType = ByteBuffer.allocate(1);
+            long low = 0;
+            long high = (channel.size() - headerSize) / BinaryLogFormat.RECORD_SIZE;
+            while (low < high) {
+                long middle = (low + high) >>> 1;
+                storedType.clear();
+                readFully(channel, storedType,
+                        headerSize + middle * BinaryLogFormat.RECORD_SIZE + BinaryLogFormat.REQUEST_TYPE_OFFSET);
+                if (storedType.get(0) == BinaryLogFormat.END_OF_RECORDS) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * @return the number of records read
+     */
+    long readRecords(RecordConsumer consumer) throws IOException {
+        return readRecords(consumer, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads records {@code firstRecord} (inclusive) to {@code endRecord} (exclusive), so separate
+     * threads can each read their own range of the same log.
+     *
+     * @return the number of records read
+     */
+    long readRecords(RecordConsumer consumer, long firstRecord, long endRecord) throws IOException {
+        long recordsRead = 0;
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            int headerSize = header.size;
+            int phaseCount = header.phaseNames.size();
+
+            long recordCount = Math.min(endRecord, (channel.size() - headerSize) / BinaryLogFormat.RECORD_SIZE);
+            RequestType[] requestTypes = RequestType.values();
+            for (long windowStart = firstRecord; windowStart < recordCount; windowStart += RECORDS_PER_WINDOW) {
+                int windowRecords = (int) Math.min(RECORDS_PER_WINDOW, recordCount - windowStart);
+                MappedByteBuffer window = channel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        headerSize + windowStart * BinaryLogFormat.RECORD_SIZE,
+                        (long) windowRecords * BinaryLogFormat.RECORD_SIZE);
+
+                for (int record = 0; record < windowRecords; record++) {
+                    int offset = record * BinaryLogFormat.RECORD_SIZE;
+                    int storedType = window.get(offset + BinaryLogFormat.REQUEST_TYPE_OFFSET) & 0xFF;
+                    if (storedType == BinaryLogFormat.END_OF_RECORDS) {
+                        return recordsRead;
+                    }
+                    if (storedType > requestTypes.length) {
+                        throw new IOException("Record " + (windowStart + record) + " has request type " + storedType
+                                + " but only " + requestTypes.length + " types exist: " + logPath);
+                    }
+                    long startNanos = window.getLong(offset + BinaryLogFormat.START_OFFSET_NANOS_OFFSET);
+                    long endNanos = startNanos + readLatencyNanos(window,
+                            offset + BinaryLogFormat.LATENCY_MICROS_OFFSET,
+                            offset + BinaryLogFormat.LATENCY_SUB_MICROS_NANOS_OFFSET);
+                    long intendedStartNanos = endNanos - readLatencyNanos(window,
+                            offset + BinaryLogFormat.CORRECTED_LATENCY_MICROS_OFFSET,
+                            offset + BinaryLogFormat.CORRECTED_LATENCY_SUB_MICROS_NANOS_OFFSET);
+                    int storedPhase = window.get(offset + BinaryLogFormat.PHASE_OFFSET) & 0xFF;
+                    if (storedPhase > phaseCount) {
+                        throw new IOException("Record " + (windowStart + record) + " has phase " + storedPhase
+                                + " but the header names " + phaseCount + " phases: " + logPath);
+                    }
+                    consumer.accept(
+                            storedPhase == BinaryLogFormat.UNTAGGED_PHASE
+                                    ? PhaseLatencyHistograms.UNTAGGED_PHASE_INDEX
+                                    : storedPhase - 1,
+                            requestTypes[storedType - 1],
+                            window.getShort(offset + BinaryLogFormat.RESPONSE_CODE_OFFSET),
+                            intendedStartNanos,
+                            startNanos,
+                            endNanos);
+                    recordsRead++;
+                }
+            }
+        }
+        return recordsRead;
+    }
+
+    private static long readLatencyNanos(ByteBuffer window, int microsPosition, int subMicrosNanosPosition) {
+        return window.getInt(microsPosition) * NANOSECONDS_IN_MICROSECOND + window.getShort(subMicrosNanosPosition);
+    }
+
+    private Header readHeader(FileChannel channel) throws IOException {
+        if (channel.size() < BinaryLogFormat.FIXED_HEADER_SIZE) {
+            throw new IOException("Not a binary request log: " + logPath);
+        }
+        ByteBuffer fixedHeader = ByteBuffer.allocate(BinaryLogFormat.FIXED_HEADER_SIZE);
+        readFully(channel, fixedHeader, 0);
+        if (fixedHeader.getLong(BinaryLogFormat.MAGIC_OFFSET) != BinaryLogFormat.MAGIC
+                || fixedHeader.getInt(BinaryLogFormat.VERSION_OFFSET) != BinaryLogFormat.VERSION
+                || fixedHeader.getInt(BinaryLogFormat.RECORD_SIZE_OFFSET) != BinaryLogFormat.RECORD_SIZE) {
+            throw new IOException("Not a version " + BinaryLogFormat.VERSION + " binary request log: " + logPath);
+        }
+        ClockAnchor clockAnchor =
+                ClockAnchor.forOffsets(fixedHeader.getLong(BinaryLogFormat.ANCHOR_EPOCH_MILLIS_OFFSET));
+        int headerSize = fixedHeader.getInt(BinaryLogFormat.HEADER_SIZE_OFFSET);
+        int phaseCount = fixedHeader.getInt(BinaryLogFormat.PHASE_COUNT_OFFSET);
+        if (headerSize < BinaryLogFormat.FIXED_HEADER_SIZE || headerSize > channel.size()
+                || phaseCount < 0 || phaseCount > BinaryLogFormat.MAX_PHASE_COUNT) {
+            throw new IOException("Corrupt binary request log header: " + logPath);
+        }
+        ByteBuffer phaseTable = ByteBuffer.allocate(headerSize - BinaryLogFormat.FIXED_HEADER_SIZE);
+        readFully(channel, phaseTable, BinaryLogFormat.FIXED_HEADER_SIZE);
+        List<String> phaseNames = new ArrayList<>();
+        int position = 0;
+        for (int phase = 0; phase < phaseCount; phase++) {
+            int nameLength = phaseTable.getShort(position);
+            byte[] nameBytes = new byte[nameLength];
+            for (int i = 0; i < nameLength; i++) {
+                nameBytes[i] = phaseTable.get(position + Short.BYTES + i);
+            }
+            phaseNames.add(new String(nameBytes, StandardCharsets.UTF_8));
+            position += Short.BYTES + nameLength;
+        }
+        return new Header(clockAnchor, headerSize, phaseNames);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                throw new IOException("Truncated binary request log header");
+            }
+        }
+    }
+
+    private static class Header {
+        private final ClockAnchor clockAnchor;
+        private final int size;
+        private final List<String> phaseNames;
+
+        private Header(ClockAnchor clockAnchor, int size, List<String> phaseNames) {
+            this.clockAnchor = clockAnchor;
+            this.size = size;
+            this.phaseNames = phaseNames;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package assignment.statistics;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes the binary request log through memory-mapped segments. Records are stored with plain
+ * puts into the current mapping and the OS writes the pages back, so the writer thread makes no
+ * system call per batch. When a segment fills the next one is mapped after it. On close the file
+ * is truncated to the records actually written where the OS allows that while the last segment is
+ * still mapped; Windows does not, and Java 8 has no way to release a mapping, so there the zeroed
+ * rest of the segment stays behind the {@link BinaryLogFormat#END_OF_RECORDS} marker.
+ */
+public class BinaryLogWriter extends RecordLogWriter {
+    private static final int RECORDS_PER_SEGMENT = 1 << 22;
+    private static final long SEGMENT_SIZE = (long) RECORDS_PER_SEGMENT * BinaryLogFormat.RECORD_SIZE;
+    private static final long NANOSECONDS_IN_MICROSECOND = 1_000L;
+
+    private static final Logger logger = LogManager.getLogger(BinaryLogWriter.class);
+
+    private final String fileName;
+    private final ClockAnchor clockAnchor;
+    private final List<String> phaseNames;
+    private FileChannel fileChannel;
+    private int headerSize;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private long recordsWritten;
+
+    BinaryLogWriter(
+            String fileName,
+            Queue<RequestRecorder> recorders,
+            AtomicBoolean recordingFinished,
+            List<String> phaseNames,
+            ClockAnchor clockAnchor,
+            IntervalLatencyStatistics intervalLatencyStatistics,
+            WriterLagStatistics writerLagStatistics) {
+        super(recorders, recordingFinished, phaseNames, intervalLatencyStatistics, writerLagStatistics);
+        this.fileName = fileName;
+        this.clockAnchor = clockAnchor;
+        this.phaseNames = phaseNames;
+    }
+
+    @Override
+    void openLog() {
+        try {
+            fileChannel = FileChannel.open(
+                    Paths.get(fileName),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            ByteBuffer header = createHeader();
+            headerSize = header.capacity();
+            while (header.hasRemaining()) {
+                fileChannel.write(header);
+            }
+            mapSegment(headerSize);
+        } catch (IOException e) {
+            logger.log(Level.FATAL, e.getMessage());
+            fileChannel = null;
+        }
+    }
+
+    private ByteBuffer createHeader() throws IOException {
+        if (phaseNames.size() > BinaryLogFormat.MAX_PHASE_COUNT) {
+            throw new IOException("A binary request log holds at most " + BinaryLogFormat.MAX_PHASE_COUNT + " phases");
+        }
+        int size = BinaryLogFormat.FIXED_HEADER_SIZE;
+        for (String phaseName : phaseNames) {
+            size += Short.BYTES + phaseName.getBytes(StandardCharsets.UTF_8).length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(size);
+        header.putLong(BinaryLogFormat.MAGIC_OFFSET, BinaryLogFormat.MAGIC);
+        header.putInt(BinaryLogFormat.VERSION_OFFSET, BinaryLogFormat.VERSION);
+        header.putInt(BinaryLogFormat.RECORD_SIZE_OFFSET, BinaryLogFormat.RECORD_SIZE);
+        header.putLong(BinaryLogFormat.ANCHOR_EPOCH_MILLIS_OFFSET, clockAnchor.getAnchorEpochMillis());
+        header.putInt(BinaryLogFormat.HEADER_SIZE_OFFSET, size);
+        header.putInt(BinaryLogFormat.PHASE_COUNT_OFFSET, phaseNames.size());
+        int position = BinaryLogFormat.FIXED_HEADER_SIZE;
+        for (String phaseName : phaseNames) {
+            byte[] nameBytes = phaseName.getBytes(StandardCharsets.UTF_8);
+            header.putShort(position, (short) nameBytes.length);
+            for (int i = 0; i < nameBytes.length; i++) {
+                header.put(position + Short.BYTES + i, nameBytes[i]);
+            }
+            position += Short.BYTES + nameBytes.length;
+        }
+        return header;
+    }
+
+    private void mapSegment(long position) throws IOException {
+        segment = fileChannel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_SIZE);
+        segmentStart = position;
+    }
+
+    @Override
+    void writeRecord(
+            int phaseIndex,
+            RequestType requestType,
+            int responseCode,
+            long intendedStartNanos,
+            long startNanos,
+            long endNanos) {
+        if (segment == null) {
+            return;
+        }
+        int recordOffset = (int) (recordsWritten % RECORDS_PER_SEGMENT) * BinaryLogFormat.RECORD_SIZE;
+        if (recordOffset == 0 && recordsWritten > 0) {
+            try {
+                mapSegment(segmentStart + SEGMENT_SIZE);
+            } catch (IOException e) {
+                logger.log(Level.FATAL, e.getMessage());
+                segment = null;
+                return;
+            }
+        }
+
+        long latencyNanos = endNanos - startNanos;
+        long correctedLatencyNanos = endNanos - intendedStartNanos;
+        segment.putLong(recordOffset + BinaryLogFormat.START_OFFSET_NANOS_OFFSET,
+                clockAnchor.toOffsetNanos(startNanos));
+        segment.putInt(recordOffset + BinaryLogFormat.LATENCY_MICROS_OFFSET,
+                toSaturatedInt(latencyNanos / NANOSECONDS_IN_MICROSECOND));
+        segment.putInt(recordOffset + BinaryLogFormat.CORRECTED_LATENCY_MICROS_OFFSET,
+                toSaturatedInt(correctedLatencyNanos / NANOSECONDS_IN_MICROSECOND));
+        segment.putShort(recordOffset + BinaryLogFormat.LATENCY_SUB_MICROS_NANOS_OFFSET,
+                (short) (latencyNanos % NANOSECONDS_IN_MICROSECOND));
+        segment.putShort(recordOffset + BinaryLogFormat.CORRECTED_LATENCY_SUB_MICROS_NANOS_OFFSET,
+                (short) (correctedLatencyNanos % NANOSECONDS_IN_MICROSECOND));
+        segment.putShort(recordOffset + BinaryLogFormat.RESPONSE_CODE_OFFSET, (short) responseCode);
+        segment.put(recordOffset + BinaryLogFormat.REQUEST_TYPE_OFFSET, (byte) (requestType.ordinal() + 1));
+        segment.put(recordOffset + BinaryLogFormat.PHASE_OFFSET, (byte) (phaseIndex + 1));
+        recordsWritten++;
+    }
+
+    private static int toSaturatedInt(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    @Override
+    void flushLog() {
+    }
+
+    @Override
+    void closeLog() {
+        if (fileChannel == null) {
+            return;
+        }
+        segment = null;
+        try {
+            fileChannel.truncate(headerSize + recordsWritten * BinaryLogFormat.RECORD_SIZE);
+        } catch (IOException e) {
+            logger.log(Level.WARN, "Binary log left untruncated while mapped: " + e.getMessage());
+        }
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            logger.log(Level.FATAL, e.getMessage());
+        }
+    }
+}
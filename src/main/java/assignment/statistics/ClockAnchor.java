@@ -0,0 +1,41 @@
+package assignment.statistics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pairs one wall-clock reading with one {@link System#nanoTime()} reading so request timings can
+ * be taken from the monotonic clock and still be reported as epoch timestamps.
+ */
+public class ClockAnchor {
+    private final long anchorEpochMillis;
+    private final long anchorNanos;
+
+    private ClockAnchor(long anchorEpochMillis, long anchorNanos) {
+        this.anchorEpochMillis = anchorEpochMillis;
+        this.anchorNanos = anchorNanos;
+    }
+
+    public static ClockAnchor capture() {
+        return new ClockAnchor(System.currentTimeMillis(), System.nanoTime());
+    }
+
+    /**
+     * Anchor for times that were stored as offsets from {@code anchorEpochMillis}, as in the
+     * binary request log.
+     */
+    static ClockAnchor forOffsets(long anchorEpochMillis) {
+        return new ClockAnchor(anchorEpochMillis, 0);
+    }
+
+    public long toEpochMillis(long nanoTime) {
+        return anchorEpochMillis + TimeUnit.NANOSECONDS.toMillis(nanoTime - anchorNanos);
+    }
+
+    long toOffsetNanos(long nanoTime) {
+        return nanoTime - anchorNanos;
+    }
+
+    long getAnchorEpochMillis() {
+        return anchorEpochMillis;
+    }
+}
@@ -0,0 +1,202 @@
+package assignment.statistics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses request CSV bytes fed to it in arbitrary pieces, keeping only the current field's value.
+ * Lines are never materialised as Strings, so scanning allocates nothing beyond the caller's
+ * buffer and the histograms. Latencies are recorded in microseconds; files written before the
+ * microsecond columns existed fall back to the millisecond columns, and lines without a phase
+ * column count as untagged.
+ */
+class CsvLatencyScanner {
+    private static final byte SEPARATOR = ',';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int METHOD_TYPE_COL_INDEX = 0;
+    private static final int START_TIME_COL_INDEX = 2;
+    private static final int END_TIME_COL_INDEX = 3;
+    private static final int LATENCY_COL_INDEX = 4;
+    private static final int CORRECTED_LATENCY_COL_INDEX = 6;
+    private static final int LATENCY_MICROS_COL_INDEX = 7;
+    private static final int CORRECTED_LATENCY_MICROS_COL_INDEX = 8;
+    private static final int PHASE_COL_INDEX = 9;
+    private static final long MICROSECONDS_IN_MILLISECOND = 1_000L;
+    private static final long NANOSECONDS_IN_MILLISECOND = 1_000_000L;
+    private static final int MAX_TOKEN_LENGTH = 16;
+    private static final RequestType[] REQUEST_TYPES = RequestType.values();
+    private static final byte[][] REQUEST_NAME_BYTES = new byte[REQUEST_TYPES.length][];
+
+    static {
+        for (RequestType requestType : REQUEST_TYPES) {
+            REQUEST_NAME_BYTES[requestType.ordinal()] = requestType.getMethodName().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final PhaseLatencyHistograms histograms;
+    private final byte[] methodToken = new byte[MAX_TOKEN_LENGTH];
+    private final byte[] phaseToken = new byte[MAX_TOKEN_LENGTH];
+    private final List<byte[]> knownPhaseNames = new ArrayList<>();
+    private final List<Integer> knownPhaseIndexes = new ArrayList<>();
+    private boolean firstLineSkipped;
+    private int column;
+    private int methodTokenLength;
+    private int phaseTokenLength;
+    private long startTimeMillis;
+    private long endTimeMillis;
+    private long latency;
+    private long correctedLatency;
+    private long latencyMicros;
+    private long correctedLatencyMicros;
+    private boolean hasCorrectedLatency;
+    private boolean hasLatencyMicros;
+    private boolean lineHasData;
+
+    /**
+     * @param skipFirstLine true when the bytes start with the header line
+     */
+    CsvLatencyScanner(PhaseLatencyHistograms histograms, boolean skipFirstLine) {
+        this.histograms = histograms;
+        this.firstLineSkipped = !skipFirstLine;
+    }
+
+    void scan(byte[] buffer, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            byte current = buffer[i];
+
+            if (current == LINE_FEED) {
+                if (firstLineSkipped && lineHasData) {
+                    recordLine();
+                }
+                firstLineSkipped = true;
+                resetLine();
+                continue;
+            }
+            if (current == CARRIAGE_RETURN || !firstLineSkipped) {
+                continue;
+            }
+            lineHasData = true;
+
+            if (current == SEPARATOR) {
+                column++;
+                continue;
+            }
+
+            if (column == METHOD_TYPE_COL_INDEX) {
+                if (methodTokenLength < MAX_TOKEN_LENGTH) {
+                    methodToken[methodTokenLength] = current;
+                }
+                methodTokenLength++;
+            } else if (column == START_TIME_COL_INDEX) {
+                startTimeMillis = startTimeMillis * 10 + (current - '0');
+            } else if (column == END_TIME_COL_INDEX) {
+                endTimeMillis = endTimeMillis * 10 + (current - '0');
+            } else if (column == LATENCY_COL_INDEX) {
+                latency = latency * 10 + (current - '0');
+            } else if (column == CORRECTED_LATENCY_COL_INDEX) {
+                correctedLatency = correctedLatency * 10 + (current - '0');
+                hasCorrectedLatency = true;
+            } else if (column == LATENCY_MICROS_COL_INDEX) {
+                latencyMicros = latencyMicros * 10 + (current - '0');
+                hasLatencyMicros = true;
+            } else if (column == CORRECTED_LATENCY_MICROS_COL_INDEX) {
+                correctedLatencyMicros = correctedLatencyMicros * 10 + (current - '0');
+            } else if (column == PHASE_COL_INDEX) {
+                if (phaseTokenLength < MAX_TOKEN_LENGTH) {
+                    phaseToken[phaseTokenLength] = current;
+                }
+                phaseTokenLength++;
+            }
+        }
+    }
+
+    /**
+     * Records a last line that has no trailing line feed.
+     */
+    void finish() {
+        if (firstLineSkipped && lineHasData) {
+            recordLine();
+        }
+        resetLine();
+    }
+
+    private void resetLine() {
+        column = 0;
+        methodTokenLength = 0;
+        phaseTokenLength = 0;
+        startTimeMillis = 0;
+        endTimeMillis = 0;
+        latency = 0;
+        correctedLatency = 0;
+        latencyMicros = 0;
+        correctedLatencyMicros = 0;
+        hasCorrectedLatency = false;
+        hasLatencyMicros = false;
+        lineHasData = false;
+    }
+
+    private void recordLine() {
+        RequestType requestType = matchRequestType();
+        if (requestType == null) {
+            return;
+        }
+        int phaseIndex = resolvePhaseIndex();
+        if (!hasLatencyMicros) {
+            latencyMicros = latency * MICROSECONDS_IN_MILLISECOND;
+            correctedLatencyMicros =
+                    (hasCorrectedLatency ? correctedLatency : latency) * MICROSECONDS_IN_MILLISECOND;
+        }
+        histograms.record(
+                phaseIndex,
+                requestType,
+                startTimeMillis * NANOSECONDS_IN_MILLISECOND,
+                endTimeMillis * NANOSECONDS_IN_MILLISECOND,
+                latencyMicros,
+                correctedLatencyMicros);
+    }
+
+    /**
+     * Phase names are looked up among the ones this scanner has already met, so a String is only
+     * built the first time a phase appears.
+     */
+    private int resolvePhaseIndex() {
+        if (phaseTokenLength == 0) {
+            return PhaseLatencyHistograms.UNTAGGED_PHASE_INDEX;
+        }
+        int tokenLength = Math.min(phaseTokenLength, MAX_TOKEN_LENGTH);
+        for (int known = 0; known < knownPhaseNames.size(); known++) {
+            byte[] name = knownPhaseNames.get(known);
+            if (name.length == tokenLength && regionMatches(name, phaseToken)) {
+                return knownPhaseIndexes.get(known);
+            }
+        }
+        byte[] name = Arrays.copyOf(phaseToken, tokenLength);
+        int phaseIndex = histograms.phaseIndex(new String(name, StandardCharsets.US_ASCII));
+        knownPhaseNames.add(name);
+        knownPhaseIndexes.add(phaseIndex);
+        return phaseIndex;
+    }
+
+    private RequestType matchRequestType() {
+        for (int type = 0; type < REQUEST_NAME_BYTES.length; type++) {
+            byte[] name = REQUEST_NAME_BYTES[type];
+            if (name.length == methodTokenLength && regionMatches(name, methodToken)) {
+                return REQUEST_TYPES[type];
+            }
+        }
+        return null;
+    }
+
+    private static boolean regionMatches(byte[] name, byte[] token) {
+        for (int i = 0; i < name.length; i++) {
+            if (name[i] != token[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,164 @@
+package assignment.statistics;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * The request CSV on disk. Ints and longs are formatted straight into a reusable byte buffer,
+ * which is written to a FileChannel in large batches, so no Strings are built per line.
+ */
+class CsvRecordFile {
+    private static final String CSV_HEADERS =
+            "RequestMethod,ResponseCode,StartTimeStamp,EndTimeStamp,Latency,IntendedStartTimeStamp,CorrectedLatency,"
+                    + "LatencyMicros,CorrectedLatencyMicros,Phase\n";
+    private static final long NANOSECONDS_IN_MICROSECOND = 1_000L;
+    private static final long NANOSECONDS_IN_MILLISECOND = 1_000_000L;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int MAX_LINE_LENGTH = 256;
+    private static final byte SEPARATOR = ',';
+    private static final byte LINE_FEED = '\n';
+    private static final byte MINUS_SIGN = '-';
+
+    private static final Logger logger = LogManager.getLogger(CsvRecordFile.class);
+
+    private final String fileName;
+    private final ClockAnchor clockAnchor;
+    private final byte[] writeBuffer = new byte[WRITE_BUFFER_SIZE];
+    private final byte[][] methodNameBytes = new byte[RequestType.values().length][];
+    private final byte[][] phaseNameBytes;
+    private final byte[] untaggedPhaseBytes =
+            PhaseLatencyHistograms.UNTAGGED_PHASE_NAME.getBytes(StandardCharsets.US_ASCII);
+    private FileChannel fileChannel;
+    private int writePosition;
+
+    CsvRecordFile(String fileName, ClockAnchor clockAnchor, List<String> phaseNames) {
+        this.fileName = fileName;
+        this.clockAnchor = clockAnchor;
+        for (RequestType requestType : RequestType.values()) {
+            methodNameBytes[requestType.ordinal()] = requestType.getMethodName().getBytes(StandardCharsets.US_ASCII);
+        }
+        phaseNameBytes = new byte[phaseNames.size()][];
+        for (int phase = 0; phase < phaseNames.size(); phase++) {
+            phaseNameBytes[phase] = phaseNames.get(phase).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    void open() {
+        try {
+            fileChannel = FileChannel.open(
+                    Paths.get(fileName),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            appendAscii(CSV_HEADERS.getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            logger.log(Level.FATAL, e.getMessage());
+        }
+    }
+
+    /**
+     * Timestamps and the millisecond latency columns keep their original whole-millisecond format
+     * so existing consumers of the file are unaffected; the microsecond columns carry the
+     * sub-millisecond precision of the nanoTime measurements.
+     */
+    void writeRecord(
+            int phaseIndex,
+            RequestType requestType,
+            int responseCode,
+            long intendedStartNanos,
+            long startNanos,
+            long endNanos) {
+        if (WRITE_BUFFER_SIZE - writePosition < MAX_LINE_LENGTH) {
+            flush();
+        }
+        long latencyNanos = endNanos - startNanos;
+        long correctedLatencyNanos = endNanos - intendedStartNanos;
+
+        appendAscii(methodNameBytes[requestType.ordinal()]);
+        writeBuffer[writePosition++] = SEPARATOR;
+        appendLong(responseCode);
+        writeBuffer[writePosition++] = SEPARATOR;
+        appendLong(clockAnchor.toEpochMillis(startNanos));
+        writeBuffer[writePosition++] = SEPARATOR;
+        appendLong(clockAnchor.toEpochMillis(endNanos));
+        writeBuffer[writePosition++] = SEPARATOR;
+        appendLong(latencyNanos / NANOSECONDS_IN_MILLISECOND);
+        writeBuffer[writePosition++] = SEPARATOR;
+        appendLong(clockAnchor.toEpochMillis(intendedStartNanos));
+        writeBuffer[writePosition++] = SEPARATOR;
+        appendLong(correctedLatencyNanos / NANOSECONDS_IN_MILLISECOND);
+        writeBuffer[writePosition++] = SEPARATOR;
+        appendLong(latencyNanos / NANOSECONDS_IN_MICROSECOND);
+        writeBuffer[writePosition++] = SEPARATOR;
+        appendLong(correctedLatencyNanos / NANOSECONDS_IN_MICROSECOND);
+        writeBuffer[writePosition++] = SEPARATOR;
+        appendAscii(phaseIndex == PhaseLatencyHistograms.UNTAGGED_PHASE_INDEX
+                ? untaggedPhaseBytes
+                : phaseNameBytes[phaseIndex]);
+        writeBuffer[writePosition++] = LINE_FEED;
+    }
+
+    private void appendAscii(byte[] bytes) {
+        System.arraycopy(bytes, 0, writeBuffer, writePosition, bytes.length);
+        writePosition += bytes.length;
+    }
+
+    private void appendLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            appendAscii(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            writeBuffer[writePosition++] = MINUS_SIGN;
+            value = -value;
+        }
+        int digitCount = 1;
+        for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+            digitCount++;
+        }
+        int position = writePosition + digitCount;
+        writePosition = position;
+        do {
+            writeBuffer[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+    }
+
+    void flush() {
+        if (writePosition == 0) {
+            return;
+        }
+        if (fileChannel != null) {
+            ByteBuffer writeByteBuffer = ByteBuffer.wrap(writeBuffer, 0, writePosition);
+            try {
+                while (writeByteBuffer.hasRemaining()) {
+                    fileChannel.write(writeByteBuffer);
+                }
+            } catch (IOException e) {
+                logger.log(Level.FATAL, e.getMessage());
+            }
+        }
+        writePosition = 0;
+    }
+
+    void close() {
+        flush();
+        if (fileChannel == null) {
+            return;
+        }
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            logger.log(Level.FATAL, e.getMessage());
+        }
+    }
+}
@@ -1,72 +1,47 @@
 package assignment.statistics;
 
-import org.apache.logging.log4j.Level;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.PrintWriter;
-import java.util.Collection;
-import java.util.concurrent.BlockingQueue;
-
-public class CsvWriter {
-    private final String CSV_HEADERS =
-            "RequestMethod,ResponseCode,StartTimeStamp,EndTimeStamp,Latency";
-
-    private String fileName;
-    private PrintWriter printWriter;
-    private BlockingQueue<Collection<RequestStatistics.SingleRequestStatistic>> statsQueue;
-
-    private static final Logger logger = LogManager.getLogger(CsvWriter.class);
-
-    CsvWriter(String fileName, BlockingQueue<Collection<RequestStatistics.SingleRequestStatistic>> statsQueue) {
-        this.fileName = fileName;
-        this.statsQueue = statsQueue;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class CsvWriter extends RecordLogWriter {
+    private final CsvRecordFile csvRecordFile;
+
+    CsvWriter(
+            String fileName,
+            Queue<RequestRecorder> recorders,
+            AtomicBoolean recordingFinished,
+            List<String> phaseNames,
+            ClockAnchor clockAnchor,
+            IntervalLatencyStatistics intervalLatencyStatistics,
+            WriterLagStatistics writerLagStatistics) {
+        super(recorders, recordingFinished, phaseNames, intervalLatencyStatistics, writerLagStatistics);
+        this.csvRecordFile = new CsvRecordFile(fileName, clockAnchor, phaseNames);
     }
 
-    public Thread startWriter() {
-        createFile();
-        return createWriteThread();
+    @Override
+    void openLog() {
+        csvRecordFile.open();
     }
 
-    public void createFile() {
-        File outputFile = new File(fileName);
-        try {
-            printWriter = new PrintWriter(outputFile);
-            printWriter.println(CSV_HEADERS);
-        } catch (FileNotFoundException e) {
-            logger.log(Level.FATAL, e.getMessage());
-        }
+    @Override
+    void writeRecord(
+            int phaseIndex,
+            RequestType requestType,
+            int responseCode,
+            long intendedStartNanos,
+            long startNanos,
+            long endNanos) {
+        csvRecordFile.writeRecord(phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos);
     }
 
-    private String generateCsvLine(RequestStatistics.SingleRequestStatistic stat) {
-        return stat.getRequestType() + "," + stat.getResponseCode() + "," + stat.getStartTime()
-                + "," + stat.getEndTime() + "," + stat.getLatency();
+    @Override
+    void flushLog() {
+        csvRecordFile.flush();
     }
 
-    private void writeThreadData() {
-        try {
-            Collection<RequestStatistics.SingleRequestStatistic> reqStats = statsQueue.take();
-            while (reqStats.size() > 0) {
-                reqStats.forEach(stats -> {
-                    String csvLine = generateCsvLine(stats);
-                    printWriter.println(csvLine);
-                });
-                reqStats = statsQueue.take();
-            }
-            printWriter.close();
-        } catch (InterruptedException e) {
-            logger.log(Level.FATAL, e.getMessage());
-        }
+    @Override
+    void closeLog() {
+        csvRecordFile.close();
     }
-
-    public Thread createWriteThread() {
-        Runnable thread = this::writeThreadData;
-
-        Thread writeThread = new Thread(thread);
-        writeThread.start();
-        return writeThread;
-    }
-
 }
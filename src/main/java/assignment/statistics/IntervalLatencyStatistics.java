@@ -0,0 +1,32 @@
+package assignment.statistics;
+
+/**
+ * Latency histograms for the current reporting interval, one per request type, in microseconds.
+ * Only the stats writer thread records into it and only the live reporter takes snapshots, so
+ * the lock is never touched by the threads sending requests.
+ */
+public class IntervalLatencyStatistics {
+    private final LatencyHistogram[] intervalHistograms = new LatencyHistogram[RequestType.values().length];
+
+    public IntervalLatencyStatistics() {
+        for (int type = 0; type < intervalHistograms.length; type++) {
+            intervalHistograms[type] = new LatencyHistogram();
+        }
+    }
+
+    synchronized void recordLatency(RequestType requestType, long latencyMicros) {
+        intervalHistograms[requestType.ordinal()].recordValue(latencyMicros);
+    }
+
+    /**
+     * Copies the interval recorded so far into {@code snapshot}, indexed by request type ordinal,
+     * and starts a new interval.
+     */
+    public synchronized void snapshotAndReset(LatencyHistogram[] snapshot) {
+        for (int type = 0; type < intervalHistograms.length; type++) {
+            snapshot[type].reset();
+            snapshot[type].add(intervalHistograms[type]);
+            intervalHistograms[type].reset();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package assignment.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of one latency histogram in milliseconds: min, mean, max and the configured
+ * percentiles, keyed by label ({@code p50}, {@code p99.9}, ...) in the configured order.
+ * Serialises directly to the JSON latency summary.
+ */
+@Getter
+@AllArgsConstructor
+public class LatencyDistribution {
+    private static final double MICROSECONDS_IN_MILLISECOND = 1_000.0;
+    private static final double PERCENT = 100.0;
+    private static final String PERCENTILE_LABEL_PREFIX = "p";
+    private static final String LATENCY_FORMAT = "%.3f";
+    private static final String FIELD_SEPARATOR = " | ";
+
+    private long count;
+    private double minMillis;
+    private double meanMillis;
+    private double maxMillis;
+    private Map<String, Double> percentileMillis;
+
+    static LatencyDistribution fromHistogram(LatencyHistogram histogram, List<Double> percentiles) {
+        Map<String, Double> percentileMillis = new LinkedHashMap<>();
+        for (Double percentile : percentiles) {
+            percentileMillis.put(
+                    percentileLabel(percentile), toMillis(histogram.valueAtQuantile(percentile / PERCENT)));
+        }
+        return new LatencyDistribution(
+                histogram.getTotalCount(),
+                toMillis(histogram.getMin()),
+                histogram.getMean() / MICROSECONDS_IN_MILLISECOND,
+                toMillis(histogram.getMax()),
+                percentileMillis);
+    }
+
+    public static String percentileLabel(double percentile) {
+        return PERCENTILE_LABEL_PREFIX + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * One-line rendering for console reports, e.g.
+     * {@code min 1.021 | p50 24.063 | p99 49.663 | max 49.999}.
+     */
+    public String toDisplayString() {
+        StringBuilder display = new StringBuilder("min ").append(formatMillis(minMillis));
+        for (Map.Entry<String, Double> percentile : percentileMillis.entrySet()) {
+            display.append(FIELD_SEPARATOR)
+                    .append(percentile.getKey())
+                    .append(' ')
+                    .append(formatMillis(percentile.getValue()));
+        }
+        return display.append(FIELD_SEPARATOR).append("max ").append(formatMillis(maxMillis)).toString();
+    }
+
+    private static String formatMillis(double millis) {
+        return String.format(LATENCY_FORMAT, millis);
+    }
+
+    private static double toMillis(long micros) {
+        return micros < 0 ? micros : micros / MICROSECONDS_IN_MILLISECOND;
+    }
+}
@@ -0,0 +1,132 @@
+package assignment.statistics;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of non-negative long values. Values below {@code 2^PRECISION_BITS} are
+ * counted exactly; above that every power-of-two range is split into {@code 2^(PRECISION_BITS-1)}
+ * linear buckets, so any reported value is within 1/128 of the recorded one. The counts array
+ * grows with the logarithm of the largest value, never with the value itself, and histograms
+ * recorded on different threads can be merged with {@link #add(LatencyHistogram)}.
+ *
+ * Instances are not thread-safe; each recording thread should own its histogram.
+ */
+public class LatencyHistogram {
+    private static final int PRECISION_BITS = 8;
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = PRECISION_BITS - 1;
+    private static final int SUB_BUCKET_COUNT = 1 << PRECISION_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int LEADING_ZERO_COUNT_BASE = Long.SIZE - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+    private static final int INITIAL_COUNTS_LENGTH = 8 * SUB_BUCKET_HALF_COUNT;
+
+    private long[] counts = new long[INITIAL_COUNTS_LENGTH];
+    private int highestRecordedIndex = -1;
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public void recordValue(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Histogram values must be non-negative: " + value);
+        }
+        int index = countsIndex(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index]++;
+        highestRecordedIndex = Math.max(highestRecordedIndex, index);
+        totalCount++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void add(LatencyHistogram other) {
+        if (other.totalCount == 0) {
+            return;
+        }
+        if (other.highestRecordedIndex >= counts.length) {
+            counts = Arrays.copyOf(counts, other.highestRecordedIndex + 1);
+        }
+        for (int i = 0; i <= other.highestRecordedIndex; i++) {
+            counts[i] += other.counts[i];
+        }
+        highestRecordedIndex = Math.max(highestRecordedIndex, other.highestRecordedIndex);
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0, highestRecordedIndex + 1, 0);
+        highestRecordedIndex = -1;
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? -1 : min;
+    }
+
+    public long getMax() {
+        return totalCount == 0 ? -1 : max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Walks the buckets from the top, removing counts until no more than
+     * {@code round(totalCount * quantile)} values remain below, the same kth-value rule the
+     * counting-array calculation used. Exact for values below {@code 2^PRECISION_BITS}.
+     *
+     * @param quantile a value between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return the highest value equivalent to the selected bucket, or -1 if nothing was recorded
+     */
+    public long valueAtQuantile(double quantile) {
+        if (totalCount == 0) {
+            return -1;
+        }
+        long kthIndex = Math.round(totalCount * quantile);
+        long remaining = totalCount;
+
+        for (int i = highestRecordedIndex; i >= 0; i--) {
+            remaining -= counts[i];
+            if (remaining <= kthIndex) {
+                return Math.max(min, Math.min(max, highestEquivalentValue(i)));
+            }
+        }
+        return getMin();
+    }
+
+    private static int countsIndex(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        long subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        long lowestEquivalentValue = subBucketIndex << bucketIndex;
+        return lowestEquivalentValue + (1L << bucketIndex) - 1;
+    }
+}
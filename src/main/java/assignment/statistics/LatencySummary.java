@@ -0,0 +1,45 @@
+package assignment.statistics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable latency report for a run: the configured percentiles and, per request method,
+ * the plain and schedule-corrected latency distributions, for the whole run and for each phase.
+ */
+@Getter
+@AllArgsConstructor
+public class LatencySummary {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private String requestLog;
+    private List<Double> percentiles;
+    private Map<String, LatencyDistribution> latency;
+    private Map<String, LatencyDistribution> correctedLatency;
+    private Map<String, PhaseStatistics> phases;
+
+    static LatencySummary fromCalculator(StatisticsCalculator statisticsCalculator) {
+        return new LatencySummary(
+                statisticsCalculator.getOutputCsvFilePathString(),
+                statisticsCalculator.getPercentiles(),
+                statisticsCalculator.getLatencyDistributions(),
+                statisticsCalculator.getCorrectedLatencyDistributions(),
+                statisticsCalculator.getPhaseStatistics());
+    }
+
+    public void writeJson(String summaryFileName) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(Paths.get(summaryFileName), StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package assignment.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Analyses request logs left by earlier runs, CSV or binary, without rerunning the load.
+ *
+ * Usage: {@code LogAnalyzer [--parallelism N] <log file>...}
+ */
+public class LogAnalyzer {
+    private static final String PARALLELISM_OPTION = "--parallelism";
+    private static final double NANOSECONDS_IN_MILLISECOND = 1_000_000.0;
+    private static final String LATENCY_FORMAT = "%.3f";
+
+    public static void main(String[] args) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        List<String> logFileNames = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (PARALLELISM_OPTION.equals(args[i]) && i + 1 < args.length) {
+                parallelism = Integer.parseInt(args[++i]);
+            } else {
+                logFileNames.add(args[i]);
+            }
+        }
+        if (logFileNames.isEmpty()) {
+            System.out.println("Usage: LogAnalyzer [--parallelism N] <log file>...");
+            return;
+        }
+
+        for (String logFileName : logFileNames) {
+            StatisticsCalculator statisticsCalculator = new StatisticsCalculator(logFileName);
+            statisticsCalculator.setParallelism(parallelism);
+            long analysisStart = System.nanoTime();
+            statisticsCalculator.calculateStats();
+            long analysisEnd = System.nanoTime();
+            printResults(logFileName, statisticsCalculator, (analysisEnd - analysisStart) / NANOSECONDS_IN_MILLISECOND);
+        }
+    }
+
+    private static void printResults(
+            String logFileName, StatisticsCalculator statisticsCalculator, double analysisMillis) {
+        System.out.println(logFileName + " (analysed in " + String.format(LATENCY_FORMAT, analysisMillis) + " ms)");
+        for (RequestType requestType : RequestType.values()) {
+            String name = requestType.getMethodName();
+            System.out.println("  " + name + " requests: " + statisticsCalculator.getTotalRequests().get(name));
+            System.out.println("  " + name + " mean(ms): "
+                    + formatMillis(statisticsCalculator.getAvgLatencyMap().get(name))
+                    + " (corrected: " + formatMillis(statisticsCalculator.getCorrectedAvgLatencyMap().get(name)) + ")");
+            System.out.println("  " + name + " distribution(ms): "
+                    + statisticsCalculator.getLatencyDistributions().get(name).toDisplayString());
+            System.out.println("  " + name + " corrected distribution(ms): "
+                    + statisticsCalculator.getCorrectedLatencyDistributions().get(name).toDisplayString());
+        }
+        for (PhaseStatistics phaseStatistics : statisticsCalculator.getPhaseStatistics().values()) {
+            String phase = phaseStatistics.getPhase();
+            System.out.println("  phase " + phase + " requests: " + phaseStatistics.getRequestCount()
+                    + ", wall time(s): " + String.format(LATENCY_FORMAT, phaseStatistics.getWallTimeSeconds())
+                    + ", throughput (req/s): " + String.format(LATENCY_FORMAT, phaseStatistics.getThroughput()));
+            for (RequestType requestType : RequestType.values()) {
+                String name = requestType.getMethodName();
+                System.out.println("  phase " + phase + " " + name + " distribution(ms): "
+                        + phaseStatistics.getLatency().get(name).toDisplayString());
+            }
+        }
+    }
+
+    private static String formatMillis(Double millis) {
+        return String.format(LATENCY_FORMAT, millis);
+    }
+}
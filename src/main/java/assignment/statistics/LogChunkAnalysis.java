@@ -0,0 +1,48 @@
+package assignment.statistics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Analyses the chunks between consecutive {@code boundaries} by splitting the range in half until
+ * one chunk is left, then merges the per-chunk histograms on the way back up.
+ */
+class LogChunkAnalysis extends RecursiveTask<PhaseLatencyHistograms> {
+    private static final long serialVersionUID = 1L;
+
+    @FunctionalInterface
+    interface ChunkParser {
+        PhaseLatencyHistograms parse(long start, long end) throws IOException;
+    }
+
+    private final long[] boundaries;
+    private final int firstChunk;
+    private final int endChunk;
+    private final ChunkParser chunkParser;
+
+    LogChunkAnalysis(long[] boundaries, int firstChunk, int endChunk, ChunkParser chunkParser) {
+        this.boundaries = boundaries;
+        this.firstChunk = firstChunk;
+        this.endChunk = endChunk;
+        this.chunkParser = chunkParser;
+    }
+
+    @Override
+    protected PhaseLatencyHistograms compute() {
+        if (endChunk - firstChunk == 1) {
+            try {
+                return chunkParser.parse(boundaries[firstChunk], boundaries[endChunk]);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        int middleChunk = (firstChunk + endChunk) >>> 1;
+        LogChunkAnalysis firstHalf = new LogChunkAnalysis(boundaries, firstChunk, middleChunk, chunkParser);
+        LogChunkAnalysis secondHalf = new LogChunkAnalysis(boundaries, middleChunk, endChunk, chunkParser);
+        firstHalf.fork();
+        PhaseLatencyHistograms merged = secondHalf.compute();
+        merged.add(firstHalf.join());
+        return merged;
+    }
+}
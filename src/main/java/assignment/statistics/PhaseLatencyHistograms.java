@@ -0,0 +1,121 @@
+package assignment.statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@link RequestLatencyHistograms} kept separately for every load phase, together with the first
+ * request start and last request end seen in each phase, which bound its wall time. Phases are
+ * addressed by index on the recording path; indexes {@code 0..n-1} are the phase names the
+ * instance was created with, further phases are added by {@link #phaseIndex(String)}, and
+ * {@link #UNTAGGED_PHASE_INDEX} stands for records that carry no phase. Like the histograms it
+ * holds, it is owned by one thread; {@link #add(PhaseLatencyHistograms)} merges phases by name.
+ */
+class PhaseLatencyHistograms {
+    static final int UNTAGGED_PHASE_INDEX = -1;
+    static final String UNTAGGED_PHASE_NAME = "untagged";
+
+    private final List<String> phaseNames = new ArrayList<>();
+    private final List<PhaseAggregate> phaseAggregates = new ArrayList<>();
+
+    PhaseLatencyHistograms(List<String> initialPhaseNames) {
+        initialPhaseNames.forEach(this::phaseIndex);
+    }
+
+    /**
+     * @return the index of the named phase, adding it if it has not been seen yet
+     */
+    int phaseIndex(String phaseName) {
+        int index = phaseNames.indexOf(phaseName);
+        if (index >= 0) {
+            return index;
+        }
+        phaseNames.add(phaseName);
+        phaseAggregates.add(new PhaseAggregate());
+        return phaseNames.size() - 1;
+    }
+
+    void record(
+            int phaseIndex,
+            RequestType requestType,
+            long startNanos,
+            long endNanos,
+            long latencyMicros,
+            long correctedLatencyMicros) {
+        int index = phaseIndex == UNTAGGED_PHASE_INDEX ? phaseIndex(UNTAGGED_PHASE_NAME) : phaseIndex;
+        PhaseAggregate aggregate = phaseAggregates.get(index);
+        aggregate.histograms.record(requestType, latencyMicros, correctedLatencyMicros);
+        aggregate.firstStartNanos = Math.min(aggregate.firstStartNanos, startNanos);
+        aggregate.lastEndNanos = Math.max(aggregate.lastEndNanos, endNanos);
+    }
+
+    void add(PhaseLatencyHistograms other) {
+        for (int otherIndex = 0; otherIndex < other.phaseNames.size(); otherIndex++) {
+            PhaseAggregate otherAggregate = other.phaseAggregates.get(otherIndex);
+            PhaseAggregate aggregate = phaseAggregates.get(phaseIndex(other.phaseNames.get(otherIndex)));
+            aggregate.histograms.add(otherAggregate.histograms);
+            aggregate.firstStartNanos = Math.min(aggregate.firstStartNanos, otherAggregate.firstStartNanos);
+            aggregate.lastEndNanos = Math.max(aggregate.lastEndNanos, otherAggregate.lastEndNanos);
+        }
+    }
+
+    /**
+     * Names of the phases that have records, ordered by their first request start.
+     */
+    List<String> recordedPhaseNames() {
+        return IntStream.range(0, phaseNames.size())
+                .filter(index -> getRequestCount(index) > 0)
+                .boxed()
+                .sorted(Comparator.comparingLong(index -> phaseAggregates.get(index).firstStartNanos))
+                .map(phaseNames::get)
+                .collect(Collectors.toList());
+    }
+
+    RequestLatencyHistograms getPhaseHistograms(String phaseName) {
+        return phaseAggregates.get(phaseIndex(phaseName)).histograms;
+    }
+
+    long getRequestCount(String phaseName) {
+        return getRequestCount(phaseIndex(phaseName));
+    }
+
+    /**
+     * From the first request start to the last request end in the phase. Phases overlap while one
+     * phase's workers are finishing and the next phase's are starting.
+     */
+    long getWallTimeNanos(String phaseName) {
+        PhaseAggregate aggregate = phaseAggregates.get(phaseIndex(phaseName));
+        return aggregate.lastEndNanos < aggregate.firstStartNanos
+                ? 0
+                : aggregate.lastEndNanos - aggregate.firstStartNanos;
+    }
+
+    /**
+     * All phases combined; built on each call.
+     */
+    RequestLatencyHistograms mergedHistograms() {
+        RequestLatencyHistograms merged = new RequestLatencyHistograms();
+        for (PhaseAggregate aggregate : phaseAggregates) {
+            merged.add(aggregate.histograms);
+        }
+        return merged;
+    }
+
+    private long getRequestCount(int phaseIndex) {
+        RequestLatencyHistograms histograms = phaseAggregates.get(phaseIndex).histograms;
+        long requestCount = 0;
+        for (RequestType requestType : RequestType.values()) {
+            requestCount += histograms.getLatencyHistogram(requestType).getTotalCount();
+        }
+        return requestCount;
+    }
+
+    private static class PhaseAggregate {
+        private final RequestLatencyHistograms histograms = new RequestLatencyHistograms();
+        private long firstStartNanos = Long.MAX_VALUE;
+        private long lastEndNanos = Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,20 @@
+package assignment.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Wall time, throughput and latency distributions of the requests sent in one load phase.
+ */
+@Getter
+@AllArgsConstructor
+public class PhaseStatistics {
+    private String phase;
+    private long requestCount;
+    private double wallTimeSeconds;
+    private double throughput;
+    private Map<String, LatencyDistribution> latency;
+    private Map<String, LatencyDistribution> correctedLatency;
+}
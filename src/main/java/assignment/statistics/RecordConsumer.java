@@ -0,0 +1,12 @@
+package assignment.statistics;
+
+@FunctionalInterface
+interface RecordConsumer {
+    void accept(
+            int phaseIndex,
+            RequestType requestType,
+            int responseCode,
+            long intendedStartNanos,
+            long startNanos,
+            long endNanos);
+}
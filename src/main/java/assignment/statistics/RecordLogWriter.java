@@ -0,0 +1,141 @@
+package assignment.statistics;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The stats writer thread: drains every registered recorder, hands each record to the log format
+ * and feeds the live interval histograms, the running run-wide histograms and the lag statistics
+ * on the way.
+ */
+public abstract class RecordLogWriter {
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    private static final long NANOSECONDS_IN_MICROSECOND = 1_000L;
+
+    private final Queue<RequestRecorder> recorders;
+    private final AtomicBoolean recordingFinished;
+    private final IntervalLatencyStatistics intervalLatencyStatistics;
+    private final WriterLagStatistics writerLagStatistics;
+    private final RecordConsumer drainedRecordHandler = this::handleDrainedRecord;
+    private final PhaseLatencyHistograms runningHistograms;
+
+    private long oldestDrainedEndNanos;
+    private boolean drainedAnyThisPass;
+
+    RecordLogWriter(
+            Queue<RequestRecorder> recorders,
+            AtomicBoolean recordingFinished,
+            List<String> phaseNames,
+            IntervalLatencyStatistics intervalLatencyStatistics,
+            WriterLagStatistics writerLagStatistics) {
+        this.recorders = recorders;
+        this.runningHistograms = new PhaseLatencyHistograms(phaseNames);
+        this.recordingFinished = recordingFinished;
+        this.intervalLatencyStatistics = intervalLatencyStatistics;
+        this.writerLagStatistics = writerLagStatistics;
+    }
+
+    public Thread startWriter() {
+        openLog();
+        return createWriteThread();
+    }
+
+    abstract void openLog();
+
+    abstract void writeRecord(
+            int phaseIndex,
+            RequestType requestType,
+            int responseCode,
+            long intendedStartNanos,
+            long startNanos,
+            long endNanos);
+
+    /**
+     * Called whenever the writer goes idle, so the log on disk stays reasonably current.
+     */
+    abstract void flushLog();
+
+    abstract void closeLog();
+
+    private void handleDrainedRecord(
+            int phaseIndex,
+            RequestType requestType,
+            int responseCode,
+            long intendedStartNanos,
+            long startNanos,
+            long endNanos) {
+        writeRecord(phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos);
+        long latencyMicros = (endNanos - startNanos) / NANOSECONDS_IN_MICROSECOND;
+        intervalLatencyStatistics.recordLatency(requestType, latencyMicros);
+        runningHistograms.record(
+                phaseIndex,
+                requestType,
+                startNanos,
+                endNanos,
+                latencyMicros,
+                (endNanos - intendedStartNanos) / NANOSECONDS_IN_MICROSECOND);
+        if (!drainedAnyThisPass || endNanos - oldestDrainedEndNanos < 0) {
+            oldestDrainedEndNanos = endNanos;
+            drainedAnyThisPass = true;
+        }
+    }
+
+    /**
+     * One pass over every recorder. The lag is the age of the oldest record written in this pass,
+     * and the backlog is what the workers had published but the writer had not yet taken when the
+     * pass started.
+     */
+    private int drainRecorders() {
+        long passStartNanos = System.nanoTime();
+        long backlog = 0;
+        for (RequestRecorder recorder : recorders) {
+            backlog += recorder.backlog();
+        }
+
+        int drained = 0;
+        drainedAnyThisPass = false;
+        Iterator<RequestRecorder> recorderIterator = recorders.iterator();
+        while (recorderIterator.hasNext()) {
+            RequestRecorder recorder = recorderIterator.next();
+            drained += recorder.drainTo(drainedRecordHandler);
+            if (recorder.isFinished()) {
+                writerLagStatistics.addFullRingWaits(recorder.getFullRingWaits());
+                recorderIterator.remove();
+            }
+        }
+        long lagNanos = drainedAnyThisPass ? Math.max(0, passStartNanos - oldestDrainedEndNanos) : 0;
+        writerLagStatistics.updateLag(lagNanos, backlog);
+        return drained;
+    }
+
+    private void writeThreadData() {
+        boolean finished;
+        do {
+            finished = recordingFinished.get();
+            if (drainRecorders() == 0 && !finished) {
+                flushLog();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        } while (!finished);
+        flushLog();
+        closeLog();
+    }
+
+    /**
+     * Only written by the writer thread; read it after joining that thread.
+     */
+    PhaseLatencyHistograms getRunningHistograms() {
+        return runningHistograms;
+    }
+
+    public Thread createWriteThread() {
+        Runnable thread = this::writeThreadData;
+
+        Thread writeThread = new Thread(thread);
+        writeThread.start();
+        return writeThread;
+    }
+}
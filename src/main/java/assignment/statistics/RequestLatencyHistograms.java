@@ -0,0 +1,38 @@
+package assignment.statistics;
+
+/**
+ * Latency and corrected-latency histograms for every request type, in microseconds, indexed by
+ * {@link RequestType} ordinal. Parts of a log analysed separately are combined with
+ * {@link #add(RequestLatencyHistograms)}.
+ */
+class RequestLatencyHistograms {
+    private final LatencyHistogram[] latencyHistograms = new LatencyHistogram[RequestType.values().length];
+    private final LatencyHistogram[] correctedLatencyHistograms = new LatencyHistogram[RequestType.values().length];
+
+    RequestLatencyHistograms() {
+        for (int type = 0; type < latencyHistograms.length; type++) {
+            latencyHistograms[type] = new LatencyHistogram();
+            correctedLatencyHistograms[type] = new LatencyHistogram();
+        }
+    }
+
+    void record(RequestType requestType, long latencyMicros, long correctedLatencyMicros) {
+        latencyHistograms[requestType.ordinal()].recordValue(latencyMicros);
+        correctedLatencyHistograms[requestType.ordinal()].recordValue(correctedLatencyMicros);
+    }
+
+    void add(RequestLatencyHistograms other) {
+        for (int type = 0; type < latencyHistograms.length; type++) {
+            latencyHistograms[type].add(other.latencyHistograms[type]);
+            correctedLatencyHistograms[type].add(other.correctedLatencyHistograms[type]);
+        }
+    }
+
+    LatencyHistogram getLatencyHistogram(RequestType requestType) {
+        return latencyHistograms[requestType.ordinal()];
+    }
+
+    LatencyHistogram getCorrectedLatencyHistogram(RequestType requestType) {
+        return correctedLatencyHistograms[requestType.ordinal()];
+    }
+}
@@ -0,0 +1,113 @@
+package assignment.statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-producer, single-consumer ring of request records held in primitive columns, with times
+ * as {@link System#nanoTime()} readings. The owning worker thread is the only caller of
+ * {@link #record} and the stats writer thread the only caller of {@link #drainTo}; the two only
+ * share the published and consumed counters, so recording takes no lock and allocates nothing.
+ * When the ring is full the worker waits for the writer to catch up, which keeps heap use flat
+ * regardless of how many requests a worker sends. Every worker belongs to one load phase, so the
+ * phase is kept once per recorder rather than per record.
+ */
+public class RequestRecorder {
+    private static final long FULL_RING_PARK_NANOS = 50_000L;
+
+    private final int phaseIndex;
+    private final int capacity;
+    private final int mask;
+    private final byte[] requestTypes;
+    private final int[] responseCodes;
+    private final long[] intendedStartNanos;
+    private final long[] startNanos;
+    private final long[] endNanos;
+
+    private final AtomicLong published = new AtomicLong(0);
+    private final AtomicLong consumed = new AtomicLong(0);
+    private volatile boolean closed;
+
+    private long producerIndex;
+    private long cachedConsumed;
+    private long fullRingWaits;
+
+    RequestRecorder(int requestedCapacity, int phaseIndex) {
+        this.phaseIndex = phaseIndex;
+        this.capacity = roundUpToPowerOfTwo(requestedCapacity);
+        this.mask = capacity - 1;
+        this.requestTypes = new byte[capacity];
+        this.responseCodes = new int[capacity];
+        this.intendedStartNanos = new long[capacity];
+        this.startNanos = new long[capacity];
+        this.endNanos = new long[capacity];
+    }
+
+    public void record(
+            RequestType requestType, int responseCode, long intendedStartNanos, long startNanos, long endNanos) {
+        long index = producerIndex;
+        if (index - cachedConsumed >= capacity) {
+            cachedConsumed = consumed.get();
+            if (index - cachedConsumed >= capacity) {
+                fullRingWaits++;
+            }
+            while (index - cachedConsumed >= capacity) {
+                LockSupport.parkNanos(FULL_RING_PARK_NANOS);
+                cachedConsumed = consumed.get();
+            }
+        }
+
+        int slot = (int) index & mask;
+        requestTypes[slot] = (byte) requestType.ordinal();
+        responseCodes[slot] = responseCode;
+        this.intendedStartNanos[slot] = intendedStartNanos;
+        this.startNanos[slot] = startNanos;
+        this.endNanos[slot] = endNanos;
+
+        producerIndex = index + 1;
+        published.lazySet(producerIndex);
+    }
+
+    /**
+     * Marks the recorder as finished so the writer can discard it once it has been drained.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    int drainTo(RecordConsumer consumer) {
+        long from = consumed.get();
+        long to = published.get();
+        for (long index = from; index < to; index++) {
+            int slot = (int) index & mask;
+            consumer.accept(
+                    phaseIndex,
+                    RequestType.fromOrdinal(requestTypes[slot]),
+                    responseCodes[slot],
+                    intendedStartNanos[slot],
+                    startNanos[slot],
+                    endNanos[slot]);
+        }
+        consumed.lazySet(to);
+        return (int) (to - from);
+    }
+
+    boolean isFinished() {
+        return closed && consumed.get() == published.get();
+    }
+
+    long backlog() {
+        return published.get() - consumed.get();
+    }
+
+    /**
+     * Only meaningful once {@link #isFinished()} is true; the closed flag publishes the count.
+     */
+    long getFullRingWaits() {
+        return fullRingWaits;
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
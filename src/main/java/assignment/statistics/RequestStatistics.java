@@ -1,105 +1,149 @@
 package assignment.statistics;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
+import assignment.OutputFormat;
+import assignment.Parameters;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.apache.logging.log4j.Level;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
-import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Getter
 @NoArgsConstructor
 public class RequestStatistics {
     public static final String GET_METHOD_NAME_ONE = "GET1";
     public static final String GET_METHOD_NAME_TWO = "GET2";
+    public static final String GET_METHOD_NAME_THREE = "GET3";
     public static final String POST_METHOD_NAME_ONE = "POST";
 
-    private  static final Logger logger = LogManager.getLogger(RequestStatistics.class);
+    private static final int DEFAULT_RECORDER_CAPACITY = 512;
 
     private String fileName;
-    private BlockingQueue<Collection<SingleRequestStatistic>> requestWriteQueue = new LinkedBlockingQueue<>();
-    private CsvWriter csvWriter;
+    private int recorderCapacity = DEFAULT_RECORDER_CAPACITY;
+    private List<Double> percentiles = Parameters.DEFAULT_PERCENTILES;
+    private Queue<RequestRecorder> recorders = new ConcurrentLinkedQueue<>();
+    private AtomicBoolean recordingFinished = new AtomicBoolean(false);
+    private ClockAnchor clockAnchor = ClockAnchor.capture();
+    private IntervalLatencyStatistics intervalLatencyStatistics = new IntervalLatencyStatistics();
+    private WriterLagStatistics writerLagStatistics = new WriterLagStatistics();
+    private RecordLogWriter requestLogWriter;
     private StatisticsCalculator statisticsCalculator;
+    private LatencySummary latencySummary;
 
     private Double meanPostLatency;
     private Double meanGet1Latency;
     private Double meanGet2Latency;
-    private long medianPostLatency;
-    private long medianGet1Latency;
-    private long medianGet2Latency;
-    private long p99Get1ResponseTime;
-    private long p99Get2ResponseTime;
-    private long p99PostResponseTime;
-    private long maxPostResponseTime;
-    private long maxGet1ResponseTime;
-    private long maxGet2ResponseTime;
-
-    public RequestStatistics(String outputFileName) {
-        this.fileName = outputFileName;
-        this.csvWriter = new CsvWriter(fileName, requestWriteQueue);
+    private Double meanGet3Latency;
+    private Double maxPostResponseTime;
+    private Double maxGet1ResponseTime;
+    private Double maxGet2ResponseTime;
+    private Double maxGet3ResponseTime;
+
+    private Double correctedMeanPostLatency;
+    private Double correctedMeanGet1Latency;
+    private Double correctedMeanGet2Latency;
+    private Double correctedMeanGet3Latency;
+    private Double correctedMaxPostResponseTime;
+    private Double correctedMaxGet1ResponseTime;
+    private Double correctedMaxGet2ResponseTime;
+    private Double correctedMaxGet3ResponseTime;
+
+    public RequestStatistics(
+            String outputFileName,
+            int recorderCapacity,
+            OutputFormat outputFormat,
+            List<Double> percentiles,
+            List<String> phaseNames) {
+        this.fileName = outputFormat == OutputFormat.NONE ? null : outputFileName;
+        this.recorderCapacity = recorderCapacity;
+        this.percentiles = percentiles;
+        if (outputFormat == OutputFormat.NONE) {
+            this.requestLogWriter = new StatisticsOnlyWriter(
+                    recorders,
+                    recordingFinished,
+                    phaseNames,
+                    intervalLatencyStatistics,
+                    writerLagStatistics);
+        } else if (outputFormat == OutputFormat.BINARY) {
+            this.requestLogWriter = new BinaryLogWriter(
+                    fileName,
+                    recorders,
+                    recordingFinished,
+                    phaseNames,
+                    clockAnchor,
+                    intervalLatencyStatistics,
+                    writerLagStatistics);
+        } else {
+            this.requestLogWriter = new CsvWriter(
+                    fileName,
+                    recorders,
+                    recordingFinished,
+                    phaseNames,
+                    clockAnchor,
+                    intervalLatencyStatistics,
+                    writerLagStatistics);
+        }
     }
 
-    public Thread startWritingToCsv() {
-        return csvWriter.startWriter();
+    public Thread startWritingRequestLog() {
+        return requestLogWriter.startWriter();
     }
 
+    /**
+     * Uses the histograms the writer kept while draining, so the request log is never re-read.
+     * Call after the writer thread has been joined.
+     */
     public void startCalculation() {
         statisticsCalculator = new StatisticsCalculator(fileName);
-        statisticsCalculator.calculateStats();
+        statisticsCalculator.setPercentiles(percentiles);
+        statisticsCalculator.calculateStats(requestLogWriter.getRunningHistograms());
     }
 
     public void setVals() {
         Map<String, Double> avgLatencyMap = statisticsCalculator.getAvgLatencyMap();
         this.meanGet1Latency = avgLatencyMap.get(GET_METHOD_NAME_ONE);
         this.meanGet2Latency = avgLatencyMap.get(GET_METHOD_NAME_TWO);
+        this.meanGet3Latency = avgLatencyMap.get(GET_METHOD_NAME_THREE);
         this.meanPostLatency = avgLatencyMap.get(POST_METHOD_NAME_ONE);
 
-        Map<String, Integer> maxLatencyMap = statisticsCalculator.getMaxLatencyMap();
+        Map<String, Double> maxLatencyMap = statisticsCalculator.getMaxLatencyMap();
         this.maxPostResponseTime = maxLatencyMap.get(POST_METHOD_NAME_ONE);
         this.maxGet1ResponseTime = maxLatencyMap.get(GET_METHOD_NAME_ONE);
         this.maxGet2ResponseTime = maxLatencyMap.get(GET_METHOD_NAME_TWO);
+        this.maxGet3ResponseTime = maxLatencyMap.get(GET_METHOD_NAME_THREE);
 
-        Map<String, Integer> medianLatencyMap = statisticsCalculator.getMedianLatencyMap();
-        this.medianGet1Latency = medianLatencyMap.get(GET_METHOD_NAME_ONE);
-        this.medianGet2Latency = medianLatencyMap.get(GET_METHOD_NAME_TWO);
-        this.medianPostLatency = medianLatencyMap.get(POST_METHOD_NAME_ONE);
+        Map<String, Double> correctedAvgLatencyMap = statisticsCalculator.getCorrectedAvgLatencyMap();
+        this.correctedMeanGet1Latency = correctedAvgLatencyMap.get(GET_METHOD_NAME_ONE);
+        this.correctedMeanGet2Latency = correctedAvgLatencyMap.get(GET_METHOD_NAME_TWO);
+        this.correctedMeanGet3Latency = correctedAvgLatencyMap.get(GET_METHOD_NAME_THREE);
+        this.correctedMeanPostLatency = correctedAvgLatencyMap.get(POST_METHOD_NAME_ONE);
 
-        Map<String, Integer> p99Map = statisticsCalculator.getP99LatencyMap();
-        this.p99Get1ResponseTime = p99Map.get(GET_METHOD_NAME_ONE);
-        this.p99Get2ResponseTime = p99Map.get(GET_METHOD_NAME_TWO);
-        this.p99PostResponseTime = p99Map.get(POST_METHOD_NAME_ONE);
-    }
+        Map<String, Double> correctedMaxLatencyMap = statisticsCalculator.getCorrectedMaxLatencyMap();
+        this.correctedMaxPostResponseTime = correctedMaxLatencyMap.get(POST_METHOD_NAME_ONE);
+        this.correctedMaxGet1ResponseTime = correctedMaxLatencyMap.get(GET_METHOD_NAME_ONE);
+        this.correctedMaxGet2ResponseTime = correctedMaxLatencyMap.get(GET_METHOD_NAME_TWO);
+        this.correctedMaxGet3ResponseTime = correctedMaxLatencyMap.get(GET_METHOD_NAME_THREE);
 
-    public void addStatsToQueue(Collection<SingleRequestStatistic> statsToAdd) {
-        try {
-            requestWriteQueue.put(statsToAdd);
-        } catch (InterruptedException e) {
-            logger.log(Level.FATAL, e.getMessage());
-        }
+        this.latencySummary = LatencySummary.fromCalculator(statisticsCalculator);
     }
 
-    @Getter
-    @Builder
-    @AllArgsConstructor
-    public static class SingleRequestStatistic implements Comparable<SingleRequestStatistic>{
-        private long startTime;
-        private long endTime;
-        private int responseCode;
-        private String requestType;
-
-        public long getLatency() {
-            return endTime - startTime;
-        }
+    /**
+     * @param phaseIndex the position of the worker's phase in the schedule's phase names
+     */
+    public RequestRecorder newRecorder(int phaseIndex) {
+        RequestRecorder recorder = new RequestRecorder(recorderCapacity, phaseIndex);
+        recorders.add(recorder);
+        return recorder;
+    }
 
-        @Override
-        public int compareTo(SingleRequestStatistic otherStat) {
-            return (int)Math.ceil(this.getLatency() - otherStat.getLatency());
-        }
+    /**
+     * Tells the writer that no further requests will be recorded. It drains what is left in every
+     * recorder and then closes the output file.
+     */
+    public void finishRecording() {
+        recordingFinished.set(true);
     }
 }
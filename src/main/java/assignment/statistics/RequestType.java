@@ -0,0 +1,24 @@
+package assignment.statistics;
+
+public enum RequestType {
+    POST(RequestStatistics.POST_METHOD_NAME_ONE),
+    GET1(RequestStatistics.GET_METHOD_NAME_ONE),
+    GET2(RequestStatistics.GET_METHOD_NAME_TWO),
+    GET3(RequestStatistics.GET_METHOD_NAME_THREE);
+
+    private static final RequestType[] TYPES = values();
+
+    private final String methodName;
+
+    RequestType(String methodName) {
+        this.methodName = methodName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    static RequestType fromOrdinal(int ordinal) {
+        return TYPES[ordinal];
+    }
+}
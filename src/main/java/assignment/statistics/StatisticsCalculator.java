@@ -1,162 +1,245 @@
 package assignment.statistics;
 
+import assignment.Parameters;
 import lombok.*;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 @Getter
 @Setter
 public class StatisticsCalculator {
-    private final String SEPARATOR = ",";
-    private final int METHOD_TYPE_COL_INDEX = 0;
-    private final int RESPONSE_CODE_COL_INDEX = 1;
-    private final int START_TIME_COL_INDEX = 2;
-    private final int END_TIME_COL_INDEX = 3;
-    private final int LATENCY_COL_INDEX = 4;
-    private final List<String> requestNames = Arrays.asList(
-            RequestStatistics.GET_METHOD_NAME_ONE,
-            RequestStatistics.GET_METHOD_NAME_TWO,
-            RequestStatistics.POST_METHOD_NAME_ONE);
+    private final byte LINE_FEED = '\n';
+    private final long NANOSECONDS_IN_MICROSECOND = 1_000L;
+    private final double MICROSECONDS_IN_MILLISECOND = 1_000.0;
+    private final double NANOSECONDS_IN_SECOND = 1_000_000_000.0;
+    private final int READ_BUFFER_SIZE = 1 << 16;
+    private final long CSV_CHUNK_SIZE = 32L << 20;
+    private final long BINARY_CHUNK_RECORDS = 1L << 21;
 
     private static final Logger logger = LogManager.getLogger(StatisticsCalculator.class);
 
     private String outputCsvFilePathString;
     private Path outputCsvFilePath;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private List<Double> percentiles = Parameters.DEFAULT_PERCENTILES;
     Map<String, Double> avgLatencyMap = new HashMap<>();
-    Map<String, Integer> maxLatencyMap = new HashMap<>();
+    Map<String, Double> maxLatencyMap = new HashMap<>();
     Map<String, Integer> totalRequests = new HashMap<>();
-    Map<String, Integer[]> countingArrayMap = new HashMap<>();
-    Map<String, Integer> medianLatencyMap = new HashMap<>();
-    Map<String, Integer> p99LatencyMap = new HashMap<>();
+    Map<String, Double> correctedAvgLatencyMap = new HashMap<>();
+    Map<String, Double> correctedMaxLatencyMap = new HashMap<>();
+    Map<String, LatencyDistribution> latencyDistributions = new LinkedHashMap<>();
+    Map<String, LatencyDistribution> correctedLatencyDistributions = new LinkedHashMap<>();
+    Map<String, PhaseStatistics> phaseStatistics = new LinkedHashMap<>();
+
+    private PhaseLatencyHistograms histograms;
 
     public StatisticsCalculator(String outputCsvFilePathString) {
         this.outputCsvFilePathString = outputCsvFilePathString;
-        this.outputCsvFilePath = Paths.get(outputCsvFilePathString);
+        this.outputCsvFilePath = outputCsvFilePathString == null ? null : Paths.get(outputCsvFilePathString);
     }
 
-    private void initializeMaps() {
-        requestNames.forEach(name -> {
-            maxLatencyMap.put(name, -1);
-            totalRequests.put(name, 0);
-        });
+    public void calculateStats() {
+        histograms = new PhaseLatencyHistograms(Collections.emptyList());
+        try {
+            if (BinaryLogReader.isBinaryLog(outputCsvFilePath)) {
+                analyzeBinaryLog();
+            } else {
+                analyzeCsv();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.log(Level.FATAL, e.getMessage());
+        }
+        populateMaps();
     }
 
-    public void calculateStats() {
-        initializeMaps();
-        generateMeanAndMaxResponseTimeMaps();
-        generateMedianAndP99Maps();
+    /**
+     * Fills the statistics from histograms aggregated while the run was recorded, without reading
+     * the request log.
+     */
+    void calculateStats(PhaseLatencyHistograms runningHistograms) {
+        histograms = runningHistograms;
+        populateMaps();
     }
 
-    public void generateMeanAndMaxResponseTimeMaps() {
-        Map<String, Integer> totalLatency = new HashMap<>();
+    private void analyzeCsv() throws IOException {
+        long fileSize = Files.size(outputCsvFilePath);
+        if (parallelism <= 1 || fileSize <= CSV_CHUNK_SIZE) {
+            try (InputStream inputStream = Files.newInputStream(outputCsvFilePath)) {
+                scanCsv(inputStream);
+            }
+            return;
+        }
+        analyzeInParallel(csvChunkBoundaries(fileSize), this::scanCsvChunk);
+    }
 
-        requestNames.forEach(name -> {
-            totalLatency.put(name, 0);
+    private void analyzeBinaryLog() throws IOException {
+        BinaryLogReader reader = new BinaryLogReader(outputCsvFilePath);
+        List<String> phaseNames = reader.readPhaseNames();
+        histograms = new PhaseLatencyHistograms(phaseNames);
+        long recordCount = reader.recordCount();
+        if (parallelism <= 1 || recordCount <= BINARY_CHUNK_RECORDS) {
+            reader.readRecords(binaryRecordHandler(histograms));
+            return;
+        }
+        int chunkCount = (int) ((recordCount + BINARY_CHUNK_RECORDS - 1) / BINARY_CHUNK_RECORDS);
+        long[] boundaries = new long[chunkCount + 1];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            boundaries[chunk] = chunk * BINARY_CHUNK_RECORDS;
+        }
+        boundaries[chunkCount] = recordCount;
+        analyzeInParallel(boundaries, (firstRecord, endRecord) -> {
+            PhaseLatencyHistograms chunkHistograms = new PhaseLatencyHistograms(phaseNames);
+            reader.readRecords(binaryRecordHandler(chunkHistograms), firstRecord, endRecord);
+            return chunkHistograms;
         });
+    }
 
+    private void analyzeInParallel(long[] boundaries, LogChunkAnalysis.ChunkParser chunkParser) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
         try {
-            BufferedReader bufferedReader = Files.newBufferedReader(outputCsvFilePath);
-            bufferedReader.readLine();
-            String currentLine = bufferedReader.readLine();
-
-            while (currentLine != null) {
-                String[] csvLine = currentLine.split(SEPARATOR);
-                String methodName = csvLine[METHOD_TYPE_COL_INDEX];
-                Integer latency = Integer.parseInt(csvLine[LATENCY_COL_INDEX]);
-
-                Integer currentSum = totalLatency.get(methodName);
-                Integer currentCount = totalRequests.get(methodName);
+            histograms.add(pool.invoke(new LogChunkAnalysis(boundaries, 0, boundaries.length - 1, chunkParser)));
+        } finally {
+            pool.shutdown();
+        }
+    }
 
-                totalLatency.put(methodName, currentSum + latency);
-                totalRequests.put(methodName, currentCount + 1);
+    private void scanCsv(InputStream inputStream) throws IOException {
+        CsvLatencyScanner scanner = new CsvLatencyScanner(histograms, true);
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int bytesRead = inputStream.read(buffer);
+        while (bytesRead != -1) {
+            scanner.scan(buffer, 0, bytesRead);
+            bytesRead = inputStream.read(buffer);
+        }
+        scanner.finish();
+    }
 
-                if (maxLatencyMap.get(methodName) < latency) {
-                    maxLatencyMap.put(methodName, latency);
+    /**
+     * Chunk boundaries sit just after a line feed, so every line belongs to exactly one chunk and
+     * only the first chunk holds the header.
+     */
+    private long[] csvChunkBoundaries(long fileSize) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        try (FileChannel channel = FileChannel.open(outputCsvFilePath, StandardOpenOption.READ)) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            for (long target = CSV_CHUNK_SIZE; target < fileSize; target += CSV_CHUNK_SIZE) {
+                long lineStart = nextLineStart(channel, target, buffer);
+                if (lineStart >= fileSize) {
+                    break;
+                }
+                if (lineStart > boundaries.get(boundaries.size() - 1)) {
+                    boundaries.add(lineStart);
                 }
-
-                currentLine = bufferedReader.readLine();
             }
-
-            totalRequests.forEach((key, value) -> {
-                Integer sum = totalLatency.get(key);
-                Double avg = (double) (sum / value);
-                avgLatencyMap.put(key, avg);
-            });
-        } catch (IOException e) {
-            logger.log(Level.FATAL, e.getMessage());
         }
+        boundaries.add(fileSize);
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
     }
 
-    private void createCountingArraysForKthValue() {
-        if (this.maxLatencyMap.isEmpty()) generateMeanAndMaxResponseTimeMaps();
-
-        this.maxLatencyMap.forEach((key, value) -> {
-            int maxSize = value + 1;
-            countingArrayMap.put(key, new Integer[maxSize]);
-        });
-
-        try {
-            BufferedReader bufferedReader = Files.newBufferedReader(outputCsvFilePath);
-            bufferedReader.readLine();
-            String csvLine = bufferedReader.readLine();
-
-            while (csvLine != null) {
-                String[] data = csvLine.split(SEPARATOR);
-                String requestType = data[METHOD_TYPE_COL_INDEX];
-                int latency = Integer.parseInt(data[LATENCY_COL_INDEX]);
-
-                Integer[] methodCountingArray = countingArrayMap.get(requestType);
-
-                if (methodCountingArray[latency] == null) methodCountingArray[latency] = 0;
-                methodCountingArray[latency]++;
-
-                csvLine = bufferedReader.readLine();
+    private long nextLineStart(FileChannel channel, long target, byte[] buffer) throws IOException {
+        long position = target - 1;
+        int bytesRead = channel.read(ByteBuffer.wrap(buffer), position);
+        while (bytesRead > 0) {
+            for (int i = 0; i < bytesRead; i++) {
+                if (buffer[i] == LINE_FEED) {
+                    return position + i + 1;
+                }
             }
-        } catch (IOException e) {
-            logger.log(Level.FATAL, e.getMessage());
+            position += bytesRead;
+            bytesRead = channel.read(ByteBuffer.wrap(buffer), position);
         }
+        return Long.MAX_VALUE;
     }
 
-    private void generateMedianAndP99Maps() {
-        if (countingArrayMap.isEmpty()) createCountingArraysForKthValue();
+    private PhaseLatencyHistograms scanCsvChunk(long start, long end) throws IOException {
+        PhaseLatencyHistograms chunkHistograms = new PhaseLatencyHistograms(Collections.emptyList());
+        CsvLatencyScanner scanner = new CsvLatencyScanner(chunkHistograms, start == 0);
+        try (FileChannel channel = FileChannel.open(outputCsvFilePath, StandardOpenOption.READ)) {
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            while (chunk.hasRemaining()) {
+                int length = Math.min(buffer.length, chunk.remaining());
+                chunk.get(buffer, 0, length);
+                scanner.scan(buffer, 0, length);
+            }
+        }
+        scanner.finish();
+        return chunkHistograms;
+    }
 
-        countingArrayMap.forEach((key, countingArray) -> {
-            int totalReqCount = totalRequests.get(key);
+    /**
+     * Binary logs are decoded straight out of the mapped file; there is nothing to parse.
+     */
+    private RecordConsumer binaryRecordHandler(PhaseLatencyHistograms target) {
+        return (phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos) -> target.record(
+                phaseIndex,
+                requestType,
+                startNanos,
+                endNanos,
+                (endNanos - startNanos) / NANOSECONDS_IN_MICROSECOND,
+                (endNanos - intendedStartNanos) / NANOSECONDS_IN_MICROSECOND);
+    }
 
-            Integer medianVal =
-                    calculatePercentileValue(countingArray, totalReqCount, 0.5);
-            Integer p99Val =
-                    calculatePercentileValue(countingArray, totalReqCount, 0.99);
+    private void populateMaps() {
+        RequestLatencyHistograms mergedHistograms = histograms.mergedHistograms();
+        for (RequestType requestType : RequestType.values()) {
+            String name = requestType.getMethodName();
+            LatencyHistogram histogram = mergedHistograms.getLatencyHistogram(requestType);
+            LatencyHistogram correctedHistogram = mergedHistograms.getCorrectedLatencyHistogram(requestType);
+            long count = histogram.getTotalCount();
+
+            totalRequests.put(name, (int) count);
+            maxLatencyMap.put(name, toMillis(histogram.getMax()));
+            correctedMaxLatencyMap.put(name, toMillis(correctedHistogram.getMax()));
+            avgLatencyMap.put(name, histogram.getMean() / MICROSECONDS_IN_MILLISECOND);
+            correctedAvgLatencyMap.put(name, correctedHistogram.getMean() / MICROSECONDS_IN_MILLISECOND);
+
+            latencyDistributions.put(name, LatencyDistribution.fromHistogram(histogram, percentiles));
+            correctedLatencyDistributions.put(name, LatencyDistribution.fromHistogram(correctedHistogram, percentiles));
+        }
 
-            medianLatencyMap.put(key, medianVal);
-            p99LatencyMap.put(key, p99Val);
-        });
+        for (String phaseName : histograms.recordedPhaseNames()) {
+            phaseStatistics.put(phaseName, createPhaseStatistics(phaseName));
+        }
     }
 
-    private Integer calculatePercentileValue(
-            Integer[] countingArray, int totalReqCount, double percentile) {
-        int kthIndex = (int)Math.round(totalReqCount * percentile);
-        int totalCount = totalReqCount;
-
-        for (int i = countingArray.length - 1; i >= 0; i--) {
-            if (countingArray[i] != null) {
-                totalCount -= countingArray[i];
-            }
-            if (totalCount <= kthIndex) {
-                return i;
-            }
+    private PhaseStatistics createPhaseStatistics(String phaseName) {
+        RequestLatencyHistograms phaseHistograms = histograms.getPhaseHistograms(phaseName);
+        long requestCount = histograms.getRequestCount(phaseName);
+        Map<String, LatencyDistribution> latency = new LinkedHashMap<>();
+        Map<String, LatencyDistribution> correctedLatency = new LinkedHashMap<>();
+        for (RequestType requestType : RequestType.values()) {
+            latency.put(requestType.getMethodName(),
+                    LatencyDistribution.fromHistogram(phaseHistograms.getLatencyHistogram(requestType), percentiles));
+            correctedLatency.put(requestType.getMethodName(), LatencyDistribution.fromHistogram(
+                    phaseHistograms.getCorrectedLatencyHistogram(requestType), percentiles));
         }
-        return -1;
+        double wallTimeSeconds = histograms.getWallTimeNanos(phaseName) / NANOSECONDS_IN_SECOND;
+        double throughput = wallTimeSeconds > 0 ? requestCount / wallTimeSeconds : 0.0;
+        return new PhaseStatistics(phaseName, requestCount, wallTimeSeconds, throughput, latency, correctedLatency);
+    }
+
+    private double toMillis(long micros) {
+        return micros < 0 ? micros : micros / MICROSECONDS_IN_MILLISECOND;
     }
 }
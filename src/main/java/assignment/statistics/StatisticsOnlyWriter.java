@@ -0,0 +1,43 @@
+package assignment.statistics;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the recorders for the running statistics without keeping a request log, for runs too
+ * large to be worth storing every request ({@code outputFormat=none}).
+ */
+public class StatisticsOnlyWriter extends RecordLogWriter {
+
+    StatisticsOnlyWriter(
+            Queue<RequestRecorder> recorders,
+            AtomicBoolean recordingFinished,
+            List<String> phaseNames,
+            IntervalLatencyStatistics intervalLatencyStatistics,
+            WriterLagStatistics writerLagStatistics) {
+        super(recorders, recordingFinished, phaseNames, intervalLatencyStatistics, writerLagStatistics);
+    }
+
+    @Override
+    void openLog() {
+    }
+
+    @Override
+    void writeRecord(
+            int phaseIndex,
+            RequestType requestType,
+            int responseCode,
+            long intendedStartNanos,
+            long startNanos,
+            long endNanos) {
+    }
+
+    @Override
+    void flushLog() {
+    }
+
+    @Override
+    void closeLog() {
+    }
+}
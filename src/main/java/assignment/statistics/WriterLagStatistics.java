@@ -0,0 +1,53 @@
+package assignment.statistics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How far the stats writer is behind the workers. Written only by the writer thread after each
+ * drain pass and read by the reporters, so plain volatile fields are enough.
+ */
+public class WriterLagStatistics {
+    private volatile long currentLagNanos;
+    private volatile long maxLagNanos;
+    private volatile long backlogRecords;
+    private volatile long maxBacklogRecords;
+    private volatile long fullRingWaits;
+
+    void updateLag(long lagNanos, long backlog) {
+        currentLagNanos = lagNanos;
+        backlogRecords = backlog;
+        if (lagNanos > maxLagNanos) {
+            maxLagNanos = lagNanos;
+        }
+        if (backlog > maxBacklogRecords) {
+            maxBacklogRecords = backlog;
+        }
+    }
+
+    void addFullRingWaits(long waits) {
+        fullRingWaits += waits;
+    }
+
+    public double getCurrentLagMillis() {
+        return currentLagNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxLagMillis() {
+        return maxLagNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public long getBacklogRecords() {
+        return backlogRecords;
+    }
+
+    public long getMaxBacklogRecords() {
+        return maxBacklogRecords;
+    }
+
+    /**
+     * Number of times a worker found its recorder full and had to wait for the writer.
+     */
+    public long getFullRingWaits() {
+        return fullRingWaits;
+    }
+}
@@ -26,10 +26,8 @@ import javax.net.ssl.*;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Type;
 import java.net.URLConnection;
-import java.net.URLEncoder;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.security.SecureRandom;
@@ -48,8 +46,12 @@ import io.swagger.client.auth.Authentication;
 import io.swagger.client.auth.HttpBasicAuth;
 import io.swagger.client.auth.ApiKeyAuth;
 import io.swagger.client.auth.OAuth;
+import io.swagger.client.model.LiftRide;
 
 public class ApiClient {
+    private static final Pattern JSON_MIME_PATTERN =
+        Pattern.compile("(?i)^(application/json|[^;/ \t]+/[^;/ \t]+[+]json)[ \t]*(;.*)?$");
+    private static final int URL_QUERY_CAPACITY = 64;
 
     private String basePath = "/";
     private boolean debugging = false;
@@ -77,6 +79,7 @@ public class ApiClient {
      */
     public ApiClient() {
         httpClient = new OkHttpClient();
+        httpClient.networkInterceptors().add(ProgressInterceptor.INSTANCE);
 
 
         verifyingSsl = true;
@@ -122,13 +125,18 @@ public class ApiClient {
     }
 
     /**
-     * Set HTTP client
+     * Set HTTP client. The progress interceptor is installed on a clone, so the given instance is
+     * left as it is.
      *
      * @param httpClient An instance of OkHttpClient
      * @return Api Client
      */
     public ApiClient setHttpClient(OkHttpClient httpClient) {
-        this.httpClient = httpClient;
+        OkHttpClient client = httpClient.clone();
+        if (!client.networkInterceptors().contains(ProgressInterceptor.INSTANCE)) {
+            client.networkInterceptors().add(ProgressInterceptor.INSTANCE);
+        }
+        this.httpClient = client;
         return this;
     }
 
@@ -597,8 +605,11 @@ public class ApiClient {
      * @return True if the given MIME is JSON, false otherwise.
      */
     public boolean isJsonMime(String mime) {
-      String jsonMime = "(?i)^(application/json|[^;/ \t]+/[^;/ \t]+[+]json)[ \t]*(;.*)?$";
-      return mime != null && (mime.matches(jsonMime) || mime.equals("*/*"));
+      return isJsonMediaType(mime);
+    }
+
+    static boolean isJsonMediaType(String mime) {
+      return mime != null && (JSON_MIME_PATTERN.matcher(mime).matches() || mime.equals("*/*"));
     }
 
     /**
@@ -650,11 +661,8 @@ public class ApiClient {
      * @return Escaped string
      */
     public String escapeString(String str) {
-        try {
-            return URLEncoder.encode(str, "utf8").replaceAll("\\+", "%20");
-        } catch (UnsupportedEncodingException e) {
-            return str;
-        }
+        // Same output as URLEncoder.encode(str, "utf8") with "+" replaced by "%20"
+        return PathTemplate.escape(str);
     }
 
     /**
@@ -686,6 +694,24 @@ public class ApiClient {
             return (T) downloadFileFromResponse(response);
         }
 
+        String contentType = response.headers().get("Content-Type");
+        if (contentType == null) {
+            // ensuring a default content type
+            contentType = "application/json";
+        }
+        if (isJsonMime(contentType) && !returnType.equals(String.class)) {
+            // Parse straight off the response stream rather than copying the body into a String.
+            // A String return type keeps the buffered path below, which can fall back to the raw body.
+            if (response.body() == null) {
+                return null;
+            }
+            try (ResponseBody body = response.body()) {
+                return json.deserialize(body.charStream(), returnType);
+            } catch (IOException e) {
+                throw new ApiException(e);
+            }
+        }
+
         String respBody;
         try {
             if (response.body() != null)
@@ -700,11 +726,6 @@ public class ApiClient {
             return null;
         }
 
-        String contentType = response.headers().get("Content-Type");
-        if (contentType == null) {
-            // ensuring a default content type
-            contentType = "application/json";
-        }
         if (isJsonMime(contentType)) {
             return json.deserialize(respBody, returnType);
         } else if (returnType.equals(String.class)) {
@@ -735,6 +756,9 @@ public class ApiClient {
         } else if (obj instanceof File) {
             // File body parameter support.
             return RequestBody.create(MediaType.parse(contentType), (File) obj);
+        } else if (obj instanceof LiftRide && isJsonMime(contentType)) {
+            // Lift rides are the bulk of the traffic; encode them without a String in between.
+            return new LiftRideRequestBody(MediaType.parse(contentType), (LiftRide) obj);
         } else if (isJsonMime(contentType)) {
             String content;
             if (obj != null) {
@@ -945,6 +969,79 @@ public class ApiClient {
         return httpClient.newCall(request);
     }
 
+    /**
+     * Build HTTP call from the given endpoint prototype.
+     *
+     * @see #buildRequest(RequestPrototype, String, Object, ProgressResponseBody.ProgressListener, ProgressRequestBody.ProgressRequestListener, List[])
+     * @param prototype The request prototype of the endpoint
+     * @param path The sub-path of the HTTP URL, already expanded
+     * @param body The request body object
+     * @param progressListener Progress listener
+     * @param progressRequestListener Progress request listener
+     * @param queryValues The values of each of the prototype's query parameters
+     * @return The HTTP call
+     * @throws ApiException If fail to serialize the request body object
+     */
+    public Call buildCall(RequestPrototype prototype, String path, Object body, ProgressResponseBody.ProgressListener progressListener, ProgressRequestBody.ProgressRequestListener progressRequestListener, List<?>... queryValues) throws ApiException {
+        Request request = buildRequest(prototype, path, body, progressListener, progressRequestListener, queryValues);
+
+        return httpClient.newCall(request);
+    }
+
+    /**
+     * Build an HTTP request from the given endpoint prototype. Sends the same request as
+     * {@link #buildRequest(String, String, List, List, Object, Map, Map, String[], ProgressRequestBody.ProgressRequestListener)}
+     * with the prototype's headers and "multi" collection query params, without building the
+     * parameter lists and maps or selecting and parsing the media types on every call.
+     * A progress listener is carried as the request tag, for the client's {@link ProgressInterceptor}.
+     *
+     * @param prototype The request prototype of the endpoint
+     * @param path The sub-path of the HTTP URL, already expanded
+     * @param body The request body object
+     * @param progressListener Progress listener
+     * @param progressRequestListener Progress request listener
+     * @param queryValues The values of each of the prototype's query parameters, in order; a null list is skipped
+     * @return The HTTP request
+     * @throws ApiException If fail to serialize the request body object
+     */
+    public Request buildRequest(RequestPrototype prototype, String path, Object body, ProgressResponseBody.ProgressListener progressListener, ProgressRequestBody.ProgressRequestListener progressRequestListener, List<?>... queryValues) throws ApiException {
+        final Request.Builder reqBuilder = new Request.Builder().url(buildUrl(prototype, path, queryValues));
+        if (progressListener != null) {
+            reqBuilder.tag(progressListener);
+        }
+        if (prototype.getAccept() != null) {
+            reqBuilder.header("Accept", prototype.getAccept());
+        }
+        reqBuilder.header("Content-Type", prototype.getContentType());
+        for (Entry<String, String> header : defaultHeaderMap.entrySet()) {
+            if (!prototype.setsHeader(header.getKey())) {
+                reqBuilder.header(header.getKey(), parameterToString(header.getValue()));
+            }
+        }
+
+        RequestBody reqBody;
+        if (!prototype.permitsRequestBody()) {
+            reqBody = null;
+        } else if (body == null) {
+            if ("DELETE".equals(prototype.getMethod())) {
+                // allow calling DELETE without sending a request body
+                reqBody = null;
+            } else {
+                // use an empty request body (for POST, PUT and PATCH)
+                reqBody = RequestBody.create(prototype.getMediaType(), "");
+            }
+        } else if (body instanceof LiftRide && prototype.isJsonContent()) {
+            reqBody = new LiftRideRequestBody(prototype.getMediaType(), (LiftRide) body);
+        } else {
+            reqBody = serialize(body, prototype.getContentType());
+        }
+
+        if (progressRequestListener != null && reqBody != null) {
+            reqBody = new ProgressRequestBody(reqBody, progressRequestListener);
+        }
+        return reqBuilder.method(prototype.getMethod(), reqBody).build();
+    }
+
     /**
      * Build an HTTP request with the given options.
      *
@@ -1053,6 +1150,27 @@ public class ApiClient {
         return url.toString();
     }
 
+    private String buildUrl(RequestPrototype prototype, String path, List<?>[] queryValues) {
+        if (queryValues.length != prototype.getQueryParamCount()) {
+            throw new IllegalArgumentException("Expected " + prototype.getQueryParamCount() + " query params but got " + queryValues.length);
+        }
+        final StringBuilder url = new StringBuilder(basePath.length() + path.length() + URL_QUERY_CAPACITY);
+        url.append(basePath).append(path);
+
+        char separator = url.indexOf("?") >= 0 ? '&' : '?';
+        for (int i = 0; i < queryValues.length; i++) {
+            if (queryValues[i] == null) {
+                continue;
+            }
+            for (Object item : queryValues[i]) {
+                url.append(separator).append(prototype.getEscapedQueryParamName(i)).append('=')
+                    .append(escapeString(parameterToString(item)));
+                separator = '&';
+            }
+        }
+        return url.toString();
+    }
+
     /**
      * Set header parameters to the request builder, including default headers.
      *
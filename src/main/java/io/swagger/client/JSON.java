@@ -24,13 +24,16 @@ import com.google.gson.TypeAdapter;
 import com.google.gson.internal.bind.util.ISO8601Utils;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import org.threeten.bp.LocalDate;
 import org.threeten.bp.OffsetDateTime;
 import org.threeten.bp.format.DateTimeFormatter;
 
 import io.swagger.client.model.*;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.text.DateFormat;
@@ -71,7 +74,7 @@ public class JSON {
     }
 
     public JSON() {
-        gson = createGson()
+        gson = ModelTypeAdapters.register(createGson())
             .registerTypeAdapter(Date.class, dateTypeAdapter)
             .registerTypeAdapter(java.sql.Date.class, sqlDateTypeAdapter)
             .registerTypeAdapter(OffsetDateTime.class, offsetDateTimeTypeAdapter)
@@ -114,6 +117,38 @@ public class JSON {
         return gson.toJson(obj);
     }
 
+    /**
+     * Deserialize JSON read from the given reader to Java object, without buffering
+     * the whole document. There is no fallback to the raw body for the String type,
+     * since the body has been consumed by the time parsing fails.
+     *
+     * @param <T>        Type
+     * @param body       The JSON reader
+     * @param returnType The type to deserialize into
+     * @return The deserialized Java object
+     * @throws IOException If the reader fails
+     */
+    public <T> T deserialize(Reader body, Type returnType) throws IOException {
+        try {
+            if (isLenientOnJson) {
+                JsonReader jsonReader = new JsonReader(body);
+                jsonReader.setLenient(true);
+                return gson.fromJson(jsonReader, returnType);
+            } else {
+                return gson.fromJson(body, returnType);
+            }
+        } catch (JsonParseException e) {
+            // gson wraps failures of the reader itself too; report those as I/O errors,
+            // but keep its own syntax errors (also IOExceptions) as parse errors.
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException && !(cause instanceof MalformedJsonException)
+                    && !(cause instanceof EOFException)) {
+                throw (IOException) cause;
+            }
+            throw e;
+        }
+    }
+
     /**
      * Deserialize the given JSON string to Java object.
      *
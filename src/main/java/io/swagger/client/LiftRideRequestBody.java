@@ -0,0 +1,181 @@
+package io.swagger.client;
+
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.RequestBody;
+import io.swagger.client.model.LiftRide;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+/**
+ * A lift ride encoded as JSON straight into the request sink, with no intermediate String or
+ * byte array. The bytes are those gson's default writer would produce for the model: fields in
+ * declaration order, null fields left out, and strings escaped HTML-safe. The length is measured
+ * by the same encoder run without a sink, so the request is sent with a Content-Length and can be
+ * written again on a retry.
+ */
+final class LiftRideRequestBody extends RequestBody {
+    static final String RESORT_ID = "resortID";
+    static final String DAY_ID = "dayID";
+    static final String SKIER_ID = "skierID";
+    static final String TIME = "time";
+    static final String LIFT_ID = "liftID";
+
+    private static final int UNKNOWN_LENGTH = -1;
+    private static final char LINE_SEPARATOR = 0x2028;
+    private static final char PARAGRAPH_SEPARATOR = 0x2029;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String[] ASCII_ESCAPES = new String[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ASCII_ESCAPES[c] = unicodeEscape((char) c);
+        }
+        ASCII_ESCAPES['"'] = "\\\"";
+        ASCII_ESCAPES['\\'] = "\\\\";
+        ASCII_ESCAPES['\t'] = "\\t";
+        ASCII_ESCAPES['\b'] = "\\b";
+        ASCII_ESCAPES['\n'] = "\\n";
+        ASCII_ESCAPES['\r'] = "\\r";
+        ASCII_ESCAPES['\f'] = "\\f";
+        for (char c : new char[] {'<', '>', '&', '=', '\''}) {
+            ASCII_ESCAPES[c] = unicodeEscape(c);
+        }
+    }
+
+    private final MediaType contentType;
+    private final LiftRide liftRide;
+    private long contentLength = UNKNOWN_LENGTH;
+
+    LiftRideRequestBody(MediaType contentType, LiftRide liftRide) {
+        this.contentType = contentType;
+        this.liftRide = liftRide;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        if (contentLength == UNKNOWN_LENGTH) {
+            contentLength = encode(null);
+        }
+        return contentLength;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        encode(sink);
+    }
+
+    /**
+     * @param sink where the bytes go, or null to only count them
+     * @return the number of bytes encoded
+     */
+    private long encode(BufferedSink sink) throws IOException {
+        long byteCount = writeAscii(sink, "{");
+        long fieldBytes = writeField(sink, RESORT_ID, liftRide.getResortID(), 0);
+        fieldBytes += writeField(sink, DAY_ID, liftRide.getDayID(), fieldBytes);
+        fieldBytes += writeField(sink, SKIER_ID, liftRide.getSkierID(), fieldBytes);
+        fieldBytes += writeField(sink, TIME, liftRide.getTime(), fieldBytes);
+        fieldBytes += writeField(sink, LIFT_ID, liftRide.getLiftID(), fieldBytes);
+        return byteCount + fieldBytes + writeAscii(sink, "}");
+    }
+
+    /**
+     * @param precedingBytes bytes of the fields already written, which need a separator if any
+     */
+    private static long writeField(BufferedSink sink, String name, String value, long precedingBytes)
+            throws IOException {
+        if (value == null) {
+            return 0;
+        }
+        long byteCount = precedingBytes > 0 ? writeAscii(sink, ",") : 0;
+        byteCount += writeAscii(sink, "\"");
+        byteCount += writeAscii(sink, name);
+        byteCount += writeAscii(sink, "\":");
+        return byteCount + writeString(sink, value);
+    }
+
+    private static long writeString(BufferedSink sink, String value) throws IOException {
+        long byteCount = writeAscii(sink, "\"");
+        if (isPlainAscii(value)) {
+            byteCount += writeAscii(sink, value);
+        } else {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    String escape = ASCII_ESCAPES[c];
+                    if (escape != null) {
+                        byteCount += writeAscii(sink, escape);
+                    } else {
+                        byteCount += writeByte(sink, c);
+                    }
+                } else if (c == LINE_SEPARATOR || c == PARAGRAPH_SEPARATOR) {
+                    byteCount += writeAscii(sink, unicodeEscape(c));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    byteCount += writeCodePoint(sink, Character.toCodePoint(c, value.charAt(++i)));
+                } else if (Character.isSurrogate(c)) {
+                    // An unpaired surrogate has no UTF-8 form; encoders replace it with '?'.
+                    byteCount += writeByte(sink, '?');
+                } else {
+                    byteCount += writeCodePoint(sink, c);
+                }
+            }
+        }
+        return byteCount + writeAscii(sink, "\"");
+    }
+
+    private static boolean isPlainAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80 || ASCII_ESCAPES[c] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int writeAscii(BufferedSink sink, String ascii) throws IOException {
+        if (sink != null) {
+            sink.writeUtf8(ascii);
+        }
+        return ascii.length();
+    }
+
+    private static int writeByte(BufferedSink sink, int b) throws IOException {
+        if (sink != null) {
+            sink.writeByte(b);
+        }
+        return 1;
+    }
+
+    private static int writeCodePoint(BufferedSink sink, int codePoint) throws IOException {
+        if (codePoint < 0x800) {
+            writeByte(sink, 0xc0 | (codePoint >> 6));
+            writeByte(sink, 0x80 | (codePoint & 0x3f));
+            return 2;
+        }
+        if (codePoint < 0x10000) {
+            writeByte(sink, 0xe0 | (codePoint >> 12));
+            writeByte(sink, 0x80 | ((codePoint >> 6) & 0x3f));
+            writeByte(sink, 0x80 | (codePoint & 0x3f));
+            return 3;
+        }
+        writeByte(sink, 0xf0 | (codePoint >> 18));
+        writeByte(sink, 0x80 | ((codePoint >> 12) & 0x3f));
+        writeByte(sink, 0x80 | ((codePoint >> 6) & 0x3f));
+        writeByte(sink, 0x80 | (codePoint & 0x3f));
+        return 4;
+    }
+
+    private static String unicodeEscape(char c) {
+        return new String(new char[] {
+                '\\', 'u',
+                HEX_DIGITS[(c >> 12) & 0xf], HEX_DIGITS[(c >> 8) & 0xf],
+                HEX_DIGITS[(c >> 4) & 0xf], HEX_DIGITS[c & 0xf]});
+    }
+}
@@ -0,0 +1,220 @@
+package io.swagger.client;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.swagger.client.model.LiftRide;
+import io.swagger.client.model.SkierVertical;
+import io.swagger.client.model.TopTen;
+import io.swagger.client.model.TopTenTopTenSkiers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written codecs for the models on the request path. They read and write the same JSON as
+ * gson's reflective adapters (same field names and order, nulls left to the writer's
+ * serializeNulls setting, unknown fields skipped) without reflecting on the models' fields.
+ */
+final class ModelTypeAdapters {
+    static final TypeAdapter<LiftRide> LIFT_RIDE = new TypeAdapter<LiftRide>() {
+        @Override
+        public void write(JsonWriter out, LiftRide liftRide) throws IOException {
+            out.beginObject();
+            out.name(LiftRideRequestBody.RESORT_ID).value(liftRide.getResortID());
+            out.name(LiftRideRequestBody.DAY_ID).value(liftRide.getDayID());
+            out.name(LiftRideRequestBody.SKIER_ID).value(liftRide.getSkierID());
+            out.name(LiftRideRequestBody.TIME).value(liftRide.getTime());
+            out.name(LiftRideRequestBody.LIFT_ID).value(liftRide.getLiftID());
+            out.endObject();
+        }
+
+        @Override
+        public LiftRide read(JsonReader in) throws IOException {
+            LiftRide liftRide = new LiftRide();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case LiftRideRequestBody.RESORT_ID:
+                        liftRide.setResortID(readString(in));
+                        break;
+                    case LiftRideRequestBody.DAY_ID:
+                        liftRide.setDayID(readString(in));
+                        break;
+                    case LiftRideRequestBody.SKIER_ID:
+                        liftRide.setSkierID(readString(in));
+                        break;
+                    case LiftRideRequestBody.TIME:
+                        liftRide.setTime(readString(in));
+                        break;
+                    case LiftRideRequestBody.LIFT_ID:
+                        liftRide.setLiftID(readString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return liftRide;
+        }
+    }.nullSafe();
+
+    static final TypeAdapter<SkierVertical> SKIER_VERTICAL = new TypeAdapter<SkierVertical>() {
+        private static final String RESORT_ID = "resortID";
+        private static final String TOTAL_VERT = "totalVert";
+
+        @Override
+        public void write(JsonWriter out, SkierVertical skierVertical) throws IOException {
+            out.beginObject();
+            out.name(RESORT_ID).value(skierVertical.getResortID());
+            out.name(TOTAL_VERT).value(skierVertical.getTotalVert());
+            out.endObject();
+        }
+
+        @Override
+        public SkierVertical read(JsonReader in) throws IOException {
+            SkierVertical skierVertical = new SkierVertical();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case RESORT_ID:
+                        skierVertical.setResortID(readString(in));
+                        break;
+                    case TOTAL_VERT:
+                        skierVertical.setTotalVert(readInteger(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return skierVertical;
+        }
+    }.nullSafe();
+
+    static final TypeAdapter<TopTenTopTenSkiers> TOP_TEN_SKIER = new TypeAdapter<TopTenTopTenSkiers>() {
+        private static final String SKIER_ID = "skierID";
+        private static final String VERTICAL_TOTAL = "VertcialTotal";
+
+        @Override
+        public void write(JsonWriter out, TopTenTopTenSkiers skier) throws IOException {
+            out.beginObject();
+            out.name(SKIER_ID).value(skier.getSkierID());
+            out.name(VERTICAL_TOTAL).value(skier.getVertcialTotal());
+            out.endObject();
+        }
+
+        @Override
+        public TopTenTopTenSkiers read(JsonReader in) throws IOException {
+            TopTenTopTenSkiers skier = new TopTenTopTenSkiers();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case SKIER_ID:
+                        skier.setSkierID(readString(in));
+                        break;
+                    case VERTICAL_TOTAL:
+                        skier.setVertcialTotal(readInteger(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return skier;
+        }
+    }.nullSafe();
+
+    static final TypeAdapter<TopTen> TOP_TEN = new TypeAdapter<TopTen>() {
+        private static final String TOP_TEN_SKIERS = "topTenSkiers";
+
+        @Override
+        public void write(JsonWriter out, TopTen topTen) throws IOException {
+            out.beginObject();
+            out.name(TOP_TEN_SKIERS);
+            List<TopTenTopTenSkiers> skiers = topTen.getTopTenSkiers();
+            if (skiers == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (TopTenTopTenSkiers skier : skiers) {
+                    TOP_TEN_SKIER.write(out, skier);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public TopTen read(JsonReader in) throws IOException {
+            TopTen topTen = new TopTen();
+            in.beginObject();
+            while (in.hasNext()) {
+                if (TOP_TEN_SKIERS.equals(in.nextName())) {
+                    topTen.setTopTenSkiers(readSkiers(in));
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return topTen;
+        }
+
+        private List<TopTenTopTenSkiers> readSkiers(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            List<TopTenTopTenSkiers> skiers = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                skiers.add(TOP_TEN_SKIER.read(in));
+            }
+            in.endArray();
+            return skiers;
+        }
+    }.nullSafe();
+
+    private ModelTypeAdapters() {
+    }
+
+    static GsonBuilder register(GsonBuilder builder) {
+        return builder
+            .registerTypeAdapter(LiftRide.class, LIFT_RIDE)
+            .registerTypeAdapter(SkierVertical.class, SKIER_VERTICAL)
+            .registerTypeAdapter(TopTenTopTenSkiers.class, TOP_TEN_SKIER)
+            .registerTypeAdapter(TopTen.class, TOP_TEN);
+    }
+
+    /**
+     * Reads a string field the way gson's String adapter does: numbers and booleans are accepted
+     * and kept as their text.
+     */
+    private static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    private static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.swagger.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An endpoint path such as {@code /skiers/{skierID}/vertical}, split once into its literal text
+ * and variables so that filling it in needs neither regular expressions nor URLEncoder. Values
+ * are escaped exactly as {@link ApiClient#escapeString(String)} escapes them.
+ */
+public final class PathTemplate {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] UNESCAPED = new boolean[128];
+    private static final int ESCAPED_BYTE_LENGTH = 3;
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNESCAPED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNESCAPED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNESCAPED[c] = true;
+        }
+        UNESCAPED['.'] = true;
+        UNESCAPED['-'] = true;
+        UNESCAPED['*'] = true;
+        UNESCAPED['_'] = true;
+    }
+
+    private final String[] literals;
+    private final int[] valueIndexes;
+    private final List<String> variableNames;
+    private final int literalLength;
+
+    private PathTemplate(String[] literals, int[] valueIndexes, List<String> variableNames) {
+        this.literals = literals;
+        this.valueIndexes = valueIndexes;
+        this.variableNames = variableNames;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * @param template path with variables written as {@code {name}}; a name may appear more than once
+     */
+    public static PathTemplate compile(String template) {
+        List<String> literals = new ArrayList<String>();
+        List<Integer> valueIndexes = new ArrayList<Integer>();
+        List<String> variableNames = new ArrayList<String>();
+        int literalStart = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            String name = template.substring(open + 1, close);
+            if (!variableNames.contains(name)) {
+                variableNames.add(name);
+            }
+            literals.add(template.substring(literalStart, open));
+            valueIndexes.add(variableNames.indexOf(name));
+            literalStart = close + 1;
+            open = template.indexOf('{', literalStart);
+        }
+        literals.add(template.substring(literalStart));
+
+        int[] indexes = new int[valueIndexes.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = valueIndexes.get(i);
+        }
+        return new PathTemplate(literals.toArray(new String[0]), indexes, variableNames);
+    }
+
+    /**
+     * @param values one per variable, in the order the variables first appear in the template
+     * @return the path with every variable replaced by its escaped value
+     */
+    public String expand(String... values) {
+        if (values.length != variableNames.size()) {
+            throw new IllegalArgumentException("Expected values for " + variableNames + " but got " + values.length);
+        }
+        int capacity = literalLength;
+        for (int valueIndex : valueIndexes) {
+            capacity += values[valueIndex].length();
+        }
+        StringBuilder path = new StringBuilder(capacity);
+        for (int i = 0; i < valueIndexes.length; i++) {
+            path.append(literals[i]);
+            appendEscaped(path, values[valueIndexes[i]]);
+        }
+        return path.append(literals[valueIndexes.length]).toString();
+    }
+
+    /**
+     * Percent-encodes the UTF-8 bytes of everything but ASCII letters, digits and {@code .-*_},
+     * which gives the same result as {@code URLEncoder.encode(value, "utf8")} with {@code +}
+     * replaced by {@code %20}. Values that need no escaping are returned as they are.
+     */
+    public static String escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= UNESCAPED.length || !UNESCAPED[c]) {
+                StringBuilder escaped = new StringBuilder(value.length() * ESCAPED_BYTE_LENGTH);
+                escaped.append(value, 0, i);
+                appendEscaped(escaped, value, i);
+                return escaped.toString();
+            }
+        }
+        return value;
+    }
+
+    static void appendEscaped(StringBuilder out, String value) {
+        appendEscaped(out, value, 0);
+    }
+
+    private static void appendEscaped(StringBuilder out, String value, int start) {
+        int length = value.length();
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < UNESCAPED.length) {
+                if (UNESCAPED[c]) {
+                    out.append(c);
+                } else {
+                    appendByte(out, c);
+                }
+            } else if (c < 0x800) {
+                appendByte(out, 0xc0 | (c >> 6));
+                appendByte(out, 0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendByte(out, 0xf0 | (codePoint >> 18));
+                appendByte(out, 0x80 | ((codePoint >> 12) & 0x3f));
+                appendByte(out, 0x80 | ((codePoint >> 6) & 0x3f));
+                appendByte(out, 0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // An unpaired surrogate is encoded as '?', as String.getBytes does.
+                appendByte(out, '?');
+            } else {
+                appendByte(out, 0xe0 | (c >> 12));
+                appendByte(out, 0x80 | ((c >> 6) & 0x3f));
+                appendByte(out, 0x80 | (c & 0x3f));
+            }
+        }
+    }
+
+    private static void appendByte(StringBuilder out, int b) {
+        out.append('%').append(HEX_DIGITS[(b >> 4) & 0xf]).append(HEX_DIGITS[b & 0xf]);
+    }
+}
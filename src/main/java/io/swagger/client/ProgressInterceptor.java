@@ -0,0 +1,33 @@
+package io.swagger.client;
+
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+
+/**
+ * The network interceptor that reports download progress, installed once per OkHttpClient by
+ * {@link ApiClient}. A call asks for progress by carrying its
+ * {@link ProgressResponseBody.ProgressListener} as the request tag; other calls pass through
+ * untouched. Listeners thus belong to their call instead of piling up on the shared client.
+ */
+public final class ProgressInterceptor implements Interceptor {
+    static final ProgressInterceptor INSTANCE = new ProgressInterceptor();
+
+    private ProgressInterceptor() {
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        Object tag = request.tag();
+        if (!(tag instanceof ProgressResponseBody.ProgressListener) || response.body() == null) {
+            return response;
+        }
+        return response.newBuilder()
+            .body(new ProgressResponseBody(response.body(), (ProgressResponseBody.ProgressListener) tag))
+            .build();
+    }
+}
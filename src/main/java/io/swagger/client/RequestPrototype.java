@@ -0,0 +1,91 @@
+package io.swagger.client;
+
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.internal.http.HttpMethod;
+
+/**
+ * The parts of an endpoint's request that are the same on every call: the method, the Accept and
+ * Content-Type headers with the parsed media type, and the names of its query parameters. Built
+ * once per endpoint, so that a call only supplies its path, query values and body to
+ * {@link ApiClient#buildCall(RequestPrototype, String, Object, ProgressResponseBody.ProgressListener,
+ * ProgressRequestBody.ProgressRequestListener, java.util.List[])}. For endpoints without authentication, header or form parameters.
+ */
+public final class RequestPrototype {
+    private static final String ACCEPT_HEADER = "Accept";
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+    private static final String MULTIPART_CONTENT_TYPE = "multipart/form-data";
+
+    private final String method;
+    private final String accept;
+    private final String contentType;
+    private final MediaType mediaType;
+    private final boolean jsonContent;
+    private final boolean permitsRequestBody;
+    private final String[] escapedQueryParamNames;
+
+    private RequestPrototype(String method, String accept, String contentType, String[] queryParamNames) {
+        this.method = method;
+        this.accept = accept;
+        this.contentType = contentType;
+        this.mediaType = MediaType.parse(contentType);
+        this.jsonContent = ApiClient.isJsonMediaType(contentType);
+        this.permitsRequestBody = HttpMethod.permitsRequestBody(method);
+        this.escapedQueryParamNames = new String[queryParamNames.length];
+        for (int i = 0; i < queryParamNames.length; i++) {
+            escapedQueryParamNames[i] = PathTemplate.escape(queryParamNames[i]);
+        }
+    }
+
+    /**
+     * @param accept the Accept header, or null to send none
+     * @param contentType the Content-Type header
+     * @param queryParamNames the endpoint's query parameters, each sent once per value ("multi" format)
+     */
+    public static RequestPrototype create(String method, String accept, String contentType,
+                                          String... queryParamNames) {
+        if (FORM_CONTENT_TYPE.equals(contentType) || MULTIPART_CONTENT_TYPE.equals(contentType)) {
+            throw new IllegalArgumentException("Form requests need their form params: " + contentType);
+        }
+        return new RequestPrototype(method, accept, contentType, queryParamNames);
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    String getAccept() {
+        return accept;
+    }
+
+    String getContentType() {
+        return contentType;
+    }
+
+    MediaType getMediaType() {
+        return mediaType;
+    }
+
+    boolean isJsonContent() {
+        return jsonContent;
+    }
+
+    boolean permitsRequestBody() {
+        return permitsRequestBody;
+    }
+
+    int getQueryParamCount() {
+        return escapedQueryParamNames.length;
+    }
+
+    String getEscapedQueryParamName(int index) {
+        return escapedQueryParamNames[index];
+    }
+
+    /**
+     * @return whether the prototype sets the header itself, so a client default must not replace it
+     */
+    boolean setsHeader(String name) {
+        return CONTENT_TYPE_HEADER.equals(name) || (accept != null && ACCEPT_HEADER.equals(name));
+    }
+}
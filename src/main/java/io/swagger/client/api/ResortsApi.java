@@ -20,10 +20,10 @@ import io.swagger.client.Configuration;
 import io.swagger.client.Pair;
 import io.swagger.client.ProgressRequestBody;
 import io.swagger.client.ProgressResponseBody;
+import io.swagger.client.RequestPrototype;
 
 import com.google.gson.reflect.TypeToken;
 
-import java.io.IOException;
 
 
 import io.swagger.client.model.ResponseMsg;
@@ -36,6 +36,9 @@ import java.util.List;
 import java.util.Map;
 
 public class ResortsApi {
+    private static final RequestPrototype TOP_TEN_VERT_REQUEST =
+        RequestPrototype.create("GET", "application/json", "application/json", "resort", "dayID");
+
     private ApiClient apiClient;
 
     public ResortsApi() {
@@ -64,48 +67,10 @@ public class ResortsApi {
      * @throws ApiException If fail to serialize the request body object
      */
     public com.squareup.okhttp.Call getTopTenVertCall(List<String> resort, List<String> dayID, final ProgressResponseBody.ProgressListener progressListener, final ProgressRequestBody.ProgressRequestListener progressRequestListener) throws ApiException {
-        Object localVarPostBody = null;
-        
         // create path and map variables
         String localVarPath = "/resort/day/top10vert";
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-        if (resort != null)
-        localVarCollectionQueryParams.addAll(apiClient.parameterToPairs("multi", "resort", resort));
-        if (dayID != null)
-        localVarCollectionQueryParams.addAll(apiClient.parameterToPairs("multi", "dayID", dayID));
-
-        Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
-
-        String[] localVarAuthNames = new String[] {  };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall(TOP_TEN_VERT_REQUEST, localVarPath, null, progressListener, progressRequestListener, resort, dayID);
     }
     
     @SuppressWarnings("rawtypes")
@@ -18,12 +18,13 @@ import io.swagger.client.ApiException;
 import io.swagger.client.ApiResponse;
 import io.swagger.client.Configuration;
 import io.swagger.client.Pair;
+import io.swagger.client.PathTemplate;
 import io.swagger.client.ProgressRequestBody;
 import io.swagger.client.ProgressResponseBody;
+import io.swagger.client.RequestPrototype;
 
 import com.google.gson.reflect.TypeToken;
 
-import java.io.IOException;
 
 
 import io.swagger.client.model.LiftRide;
@@ -37,6 +38,16 @@ import java.util.List;
 import java.util.Map;
 
 public class SkiersApi {
+    private static final PathTemplate SKIER_DAY_VERTICAL_PATH =
+        PathTemplate.compile("/skiers/{resortID}/days/{dayID}/skiers/{skierID}");
+    private static final PathTemplate SKIER_RESORT_TOTALS_PATH = PathTemplate.compile("/skiers/{skierID}/vertical");
+    private static final RequestPrototype SKIER_DAY_VERTICAL_REQUEST =
+        RequestPrototype.create("GET", "application/json", "application/json");
+    private static final RequestPrototype SKIER_RESORT_TOTALS_REQUEST =
+        RequestPrototype.create("GET", "application/json", "application/json", "resort");
+    private static final RequestPrototype WRITE_NEW_LIFT_RIDE_REQUEST =
+        RequestPrototype.create("POST", "application/json", "application/json");
+
     private ApiClient apiClient;
 
     public SkiersApi() {
@@ -66,47 +77,10 @@ public class SkiersApi {
      * @throws ApiException If fail to serialize the request body object
      */
     public com.squareup.okhttp.Call getSkierDayVerticalCall(String resortID, String dayID, String skierID, final ProgressResponseBody.ProgressListener progressListener, final ProgressRequestBody.ProgressRequestListener progressRequestListener) throws ApiException {
-        Object localVarPostBody = null;
-        
         // create path and map variables
-        String localVarPath = "/skiers/{resortID}/days/{dayID}/skiers/{skierID}"
-            .replaceAll("\\{" + "resortID" + "\\}", apiClient.escapeString(resortID.toString()))
-            .replaceAll("\\{" + "dayID" + "\\}", apiClient.escapeString(dayID.toString()))
-            .replaceAll("\\{" + "skierID" + "\\}", apiClient.escapeString(skierID.toString()));
-
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-        Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
+        String localVarPath = SKIER_DAY_VERTICAL_PATH.expand(resortID.toString(), dayID.toString(), skierID.toString());
 
-        String[] localVarAuthNames = new String[] {  };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall(SKIER_DAY_VERTICAL_REQUEST, localVarPath, null, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -208,47 +182,10 @@ public class SkiersApi {
      * @throws ApiException If fail to serialize the request body object
      */
     public com.squareup.okhttp.Call getSkierResortTotalsCall(String skierID, List<String> resort, final ProgressResponseBody.ProgressListener progressListener, final ProgressRequestBody.ProgressRequestListener progressRequestListener) throws ApiException {
-        Object localVarPostBody = null;
-        
         // create path and map variables
-        String localVarPath = "/skiers/{skierID}/vertical"
-            .replaceAll("\\{" + "skierID" + "\\}", apiClient.escapeString(skierID.toString()));
-
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-        if (resort != null)
-        localVarCollectionQueryParams.addAll(apiClient.parameterToPairs("multi", "resort", resort));
-
-        Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
+        String localVarPath = SKIER_RESORT_TOTALS_PATH.expand(skierID.toString());
 
-        final String[] localVarContentTypes = {
-            
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
-
-        String[] localVarAuthNames = new String[] {  };
-        return apiClient.buildCall(localVarPath, "GET", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall(SKIER_RESORT_TOTALS_REQUEST, localVarPath, null, progressListener, progressRequestListener, resort);
     }
     
     @SuppressWarnings("rawtypes")
@@ -342,44 +279,10 @@ public class SkiersApi {
      * @throws ApiException If fail to serialize the request body object
      */
     public com.squareup.okhttp.Call writeNewLiftRideCall(LiftRide body, final ProgressResponseBody.ProgressListener progressListener, final ProgressRequestBody.ProgressRequestListener progressRequestListener) throws ApiException {
-        Object localVarPostBody = body;
-        
         // create path and map variables
         String localVarPath = "/skiers/liftrides";
 
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-        Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-            "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-            "application/json"
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        if(progressListener != null) {
-            apiClient.getHttpClient().networkInterceptors().add(new com.squareup.okhttp.Interceptor() {
-                @Override
-                public com.squareup.okhttp.Response intercept(com.squareup.okhttp.Interceptor.Chain chain) throws IOException {
-                    com.squareup.okhttp.Response originalResponse = chain.proceed(chain.request());
-                    return originalResponse.newBuilder()
-                    .body(new ProgressResponseBody(originalResponse.body(), progressListener))
-                    .build();
-                }
-            });
-        }
-
-        String[] localVarAuthNames = new String[] {  };
-        return apiClient.buildCall(localVarPath, "POST", localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames, progressRequestListener);
+        return apiClient.buildCall(WRITE_NEW_LIFT_RIDE_REQUEST, localVarPath, body, progressListener, progressRequestListener);
     }
     
     @SuppressWarnings("rawtypes")
@@ -0,0 +1,57 @@
+package assignment.client;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Draws from seeded tables and checks that each index comes up in proportion to its weight.
+ */
+public class AliasTableTest {
+    private static final int DRAW_COUNT = 1_000_000;
+    private static final double FREQUENCY_TOLERANCE = 0.005;
+
+    @Test
+    public void indexesAreDrawnInProportionToTheirWeights() {
+        double[] weights = {1, 2, 3, 0, 4, 0.5};
+        double totalWeight = 10.5;
+        long[] counts = draw(new AliasTable(weights), weights.length, new SplittableRandom(1));
+        for (int index = 0; index < weights.length; index++) {
+            assertEquals("Index " + index, weights[index] / totalWeight, (double) counts[index] / DRAW_COUNT,
+                    FREQUENCY_TOLERANCE);
+        }
+        assertEquals(0, counts[3]);
+    }
+
+    @Test
+    public void equalWeightsAreDrawnUniformly() {
+        int size = 100;
+        double[] weights = new double[size];
+        Arrays.fill(weights, 7.0);
+        long[] counts = draw(new AliasTable(weights), size, new SplittableRandom(2));
+        for (int index = 0; index < size; index++) {
+            assertEquals("Index " + index, 1.0 / size, (double) counts[index] / DRAW_COUNT, FREQUENCY_TOLERANCE);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWeightIsRejected() {
+        new AliasTable(new double[] {1, -1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void allZeroWeightsAreRejected() {
+        new AliasTable(new double[] {0, 0});
+    }
+
+    private static long[] draw(AliasTable aliasTable, int size, SplittableRandom random) {
+        long[] counts = new long[size];
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            counts[aliasTable.next(random)]++;
+        }
+        return counts;
+    }
+}
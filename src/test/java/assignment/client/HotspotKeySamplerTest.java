@@ -0,0 +1,51 @@
+package assignment.client;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Draws from seeded samplers and checks that the hot keys get {@code trafficPercent} of the draws.
+ */
+public class HotspotKeySamplerTest {
+    private static final int FIRST_KEY = 1;
+    private static final int KEY_COUNT = 1_000;
+    private static final int DRAW_COUNT = 1_000_000;
+    private static final double FREQUENCY_TOLERANCE = 0.005;
+
+    @Test
+    public void hotKeysReceiveTheirTrafficPercent() {
+        assertHotTrafficFraction(80, 20, 200, new SplittableRandom(5));
+        assertHotTrafficFraction(95, 1, 10, new SplittableRandom(6));
+        assertHotTrafficFraction(50, 50, 500, new SplittableRandom(7));
+    }
+
+    @Test
+    public void everyKeyIsHotWhenKeyPercentIsHundred() {
+        assertHotTrafficFraction(10, 100, KEY_COUNT, new SplittableRandom(8));
+    }
+
+    @Test
+    public void hotKeyCountIsAtLeastOne() {
+        assertHotTrafficFraction(80, 0.01, 1, new SplittableRandom(9));
+    }
+
+    private static void assertHotTrafficFraction(
+            double trafficPercent, double keyPercent, int hotKeyCount, SplittableRandom random) {
+        HotspotKeySampler sampler = new HotspotKeySampler(FIRST_KEY, KEY_COUNT, trafficPercent, keyPercent);
+        long hotDraws = 0;
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            int key = sampler.nextKey(random);
+            assertTrue("Key " + key, key >= FIRST_KEY && key < FIRST_KEY + KEY_COUNT);
+            if (key < FIRST_KEY + hotKeyCount) {
+                hotDraws++;
+            }
+        }
+        double expectedFraction = hotKeyCount == KEY_COUNT ? 1.0 : trafficPercent / 100.0;
+        assertEquals("Traffic " + trafficPercent + "% to " + keyPercent + "% of keys", expectedFraction,
+                (double) hotDraws / DRAW_COUNT, FREQUENCY_TOLERANCE);
+    }
+}
@@ -0,0 +1,54 @@
+package assignment.client;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Draws from seeded samplers and checks the Zipf shape: key rank r comes up in proportion to
+ * {@code 1 / r^exponent}, so rank 1 is drawn {@code 2^exponent} times as often as rank 2.
+ */
+public class ZipfianKeySamplerTest {
+    private static final int FIRST_KEY = 1;
+    private static final int KEY_COUNT = 1_000;
+    private static final int DRAW_COUNT = 1_000_000;
+    private static final double RATIO_TOLERANCE = 0.03;
+
+    @Test
+    public void firstRankIsDrawnTwoToTheExponentTimesAsOftenAsSecond() {
+        for (double exponent : new double[] {0.5, 0.99, 1.5}) {
+            long[] counts = draw(new ZipfianKeySampler(FIRST_KEY, KEY_COUNT, exponent), new SplittableRandom(3));
+            double expectedRatio = Math.pow(2, exponent);
+            assertEquals("Exponent " + exponent, expectedRatio, (double) counts[0] / counts[1],
+                    expectedRatio * RATIO_TOLERANCE);
+        }
+    }
+
+    @Test
+    public void rankFrequenciesFollowZipfWeights() {
+        double exponent = 0.99;
+        long[] counts = draw(new ZipfianKeySampler(FIRST_KEY, KEY_COUNT, exponent), new SplittableRandom(4));
+        double totalWeight = 0;
+        for (int rank = 1; rank <= KEY_COUNT; rank++) {
+            totalWeight += 1.0 / Math.pow(rank, exponent);
+        }
+        for (int rank = 1; rank <= 10; rank++) {
+            double expectedFrequency = 1.0 / Math.pow(rank, exponent) / totalWeight;
+            assertEquals("Rank " + rank, expectedFrequency, (double) counts[rank - 1] / DRAW_COUNT,
+                    expectedFrequency * RATIO_TOLERANCE);
+        }
+    }
+
+    private static long[] draw(ZipfianKeySampler sampler, SplittableRandom random) {
+        long[] counts = new long[KEY_COUNT];
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            int key = sampler.nextKey(random);
+            assertTrue("Key " + key, key >= FIRST_KEY && key < FIRST_KEY + KEY_COUNT);
+            counts[key - FIRST_KEY]++;
+        }
+        return counts;
+    }
+}
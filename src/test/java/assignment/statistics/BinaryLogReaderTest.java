@@ -0,0 +1,148 @@
+package assignment.statistics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Reads logs written byte by byte, so that malformed records can be checked too.
+ */
+public class BinaryLogReaderTest {
+    private static final long ANCHOR_EPOCH_MILLIS = 1_571_000_000_000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void phaseNamesAreReadFromHeader() throws IOException {
+        ByteBuffer log = logHeader(2, "warmup", "soak");
+        putRecord(log, 1_000_000L, 250, 260, RequestType.POST, 2);
+        putRecord(log, 2_000_000L, 300, 300, RequestType.GET1, BinaryLogFormat.UNTAGGED_PHASE);
+        BinaryLogReader reader = new BinaryLogReader(write(log));
+
+        assertEquals(Arrays.asList("warmup", "soak"), reader.readPhaseNames());
+        List<Integer> phaseIndexes = new ArrayList<>();
+        List<Long> intendedStarts = new ArrayList<>();
+        reader.readRecords((phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos) -> {
+            phaseIndexes.add(phaseIndex);
+            intendedStarts.add(intendedStartNanos);
+        });
+        assertEquals(Arrays.asList(1, PhaseLatencyHistograms.UNTAGGED_PHASE_INDEX), phaseIndexes);
+        assertEquals(Arrays.asList(990_000L, 2_000_000L), intendedStarts);
+    }
+
+    @Test
+    public void phaseByteBeyondHeaderPhasesIsRejected() throws IOException {
+        ByteBuffer log = logHeader(1, "warmup", "soak");
+        putRecord(log, 1_000_000L, 250, 0, RequestType.POST, 3);
+        assertRejected(new BinaryLogReader(write(log)));
+    }
+
+    @Test
+    public void untruncatedLogEndsAtEndOfRecordsMarker() throws IOException {
+        int zeroedRecords = 1000;
+        ByteBuffer log = logHeader(3 + zeroedRecords, "peak");
+        putRecord(log, 1_000_000L, 250, 260, RequestType.POST, 1);
+        putRecord(log, 2_000_000L, 300, 300, RequestType.GET1, 1);
+        putRecord(log, 3_000_000L, 350, 400, RequestType.GET2, 1);
+        BinaryLogReader reader = new BinaryLogReader(write(log));
+
+        assertEquals(3, reader.recordCount());
+        List<Long> correctedLatencies = new ArrayList<>();
+        assertEquals(3, reader.readRecords(
+                (phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos) ->
+                        correctedLatencies.add((endNanos - intendedStartNanos) / 1000)));
+        assertEquals(Arrays.asList(260L, 300L, 400L), correctedLatencies);
+        assertEquals(0, reader.readRecords(
+                (phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos) -> {
+                }, 500, 3 + zeroedRecords));
+    }
+
+    @Test
+    public void emptyUntruncatedLogHasNoRecords() throws IOException {
+        BinaryLogReader reader = new BinaryLogReader(write(logHeader(10)));
+        assertEquals(0, reader.recordCount());
+    }
+
+    @Test
+    public void unknownRequestTypeIsRejected() throws IOException {
+        ByteBuffer log = logHeader(2, "peak");
+        putRecord(log, 1_000_000L, 250, 260, RequestType.POST, 1);
+        putRecord(log, 2_000_000L, 300, 300, RequestType.GET1, 1);
+        log.put(log.capacity() - BinaryLogFormat.RECORD_SIZE + BinaryLogFormat.REQUEST_TYPE_OFFSET,
+                (byte) (RequestType.values().length + 1));
+        assertRejected(new BinaryLogReader(write(log)));
+
+        log.put(log.capacity() - BinaryLogFormat.RECORD_SIZE + BinaryLogFormat.REQUEST_TYPE_OFFSET, (byte) 0xFF);
+        assertRejected(new BinaryLogReader(write(log)));
+    }
+
+    @Test(expected = IOException.class)
+    public void otherFormatVersionIsRejected() throws IOException {
+        ByteBuffer log = logHeader(1, "peak");
+        log.putInt(BinaryLogFormat.VERSION_OFFSET, BinaryLogFormat.VERSION + 1);
+        putRecord(log, 1_000_000L, 250, 260, RequestType.POST, 1);
+        new BinaryLogReader(write(log)).readPhaseNames();
+    }
+
+    private static void assertRejected(BinaryLogReader reader) {
+        try {
+            reader.readRecords((phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos) -> {
+            });
+            fail("Expected an out of range record to be rejected");
+        } catch (IOException expected) {
+            // The record names a phase or request type the log does not have.
+        }
+    }
+
+    private static ByteBuffer logHeader(int recordCount, String... phaseNames) {
+        List<byte[]> encodedNames = new ArrayList<>();
+        int headerSize = BinaryLogFormat.FIXED_HEADER_SIZE;
+        for (String phaseName : phaseNames) {
+            byte[] encodedName = phaseName.getBytes(StandardCharsets.UTF_8);
+            encodedNames.add(encodedName);
+            headerSize += Short.BYTES + encodedName.length;
+        }
+        ByteBuffer log = ByteBuffer.allocate(headerSize + recordCount * BinaryLogFormat.RECORD_SIZE);
+        log.putLong(BinaryLogFormat.MAGIC)
+                .putInt(BinaryLogFormat.VERSION)
+                .putInt(BinaryLogFormat.RECORD_SIZE)
+                .putLong(ANCHOR_EPOCH_MILLIS)
+                .putInt(headerSize)
+                .putInt(phaseNames.length);
+        for (byte[] encodedName : encodedNames) {
+            log.putShort((short) encodedName.length).put(encodedName);
+        }
+        return log;
+    }
+
+    private static void putRecord(ByteBuffer log, long startNanos, int latencyMicros, int correctedLatencyMicros,
+                                  RequestType requestType, int storedPhase) {
+        log.putLong(startNanos)
+                .putInt(latencyMicros)
+                .putInt(correctedLatencyMicros)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) 200)
+                .put((byte) (requestType.ordinal() + 1))
+                .put((byte) storedPhase);
+    }
+
+    private Path write(ByteBuffer log) throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, log.array());
+        return path;
+    }
+}
@@ -0,0 +1,115 @@
+package assignment.statistics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Writes logs through the memory-mapped writer and reads them back, checking that the records
+ * come back exactly as the CSV log writes them from the original nanosecond times.
+ */
+public class BinaryLogWriterTest {
+    private static final List<String> PHASE_NAMES = Arrays.asList("startup", "peak", "cooldown");
+    private static final long ANCHOR_EPOCH_MILLIS = 1_571_000_000_000L;
+    private static final int RECORD_COUNT = 100_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void latenciesReadBackAsCsvComputesThem() throws IOException {
+        Path logPath = folder.newFile().toPath();
+        BinaryLogWriter writer = createWriter(logPath);
+        writer.openLog();
+        Random random = new Random(12);
+        long[][] written = new long[RECORD_COUNT][];
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            long intendedStartNanos = random.nextInt(1_000_000_000);
+            long startNanos = intendedStartNanos + random.nextInt(5_000_000);
+            long endNanos = startNanos + random.nextInt(500_000_000);
+            int phaseIndex = random.nextInt(PHASE_NAMES.size() + 1) - 1;
+            writer.writeRecord(phaseIndex, RequestType.GET1, 200, intendedStartNanos, startNanos, endNanos);
+            written[i] = new long[] {phaseIndex, startNanos, (endNanos - startNanos) / 1000,
+                    (endNanos - intendedStartNanos) / 1000};
+        }
+        writer.closeLog();
+
+        BinaryLogReader reader = new BinaryLogReader(logPath);
+        assertEquals(PHASE_NAMES, reader.readPhaseNames());
+        assertEquals(RECORD_COUNT, reader.recordCount());
+        List<long[]> read = new ArrayList<>();
+        long recordsRead = reader.readRecords(
+                (phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos) ->
+                        read.add(new long[] {phaseIndex, startNanos, (endNanos - startNanos) / 1000,
+                                (endNanos - intendedStartNanos) / 1000}));
+        assertEquals(RECORD_COUNT, recordsRead);
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            assertEquals("Record " + i, Arrays.toString(written[i]), Arrays.toString(read.get(i)));
+        }
+    }
+
+    @Test
+    public void convertedLogMatchesLiveCsv() throws IOException {
+        Path binaryLogPath = folder.newFile().toPath();
+        Path liveCsvPath = folder.newFile().toPath();
+        Path convertedCsvPath = folder.newFile().toPath();
+        ClockAnchor clockAnchor = ClockAnchor.capture();
+        BinaryLogWriter writer = new BinaryLogWriter(binaryLogPath.toString(), null, null, PHASE_NAMES,
+                clockAnchor, null, null);
+        CsvRecordFile liveCsv = new CsvRecordFile(liveCsvPath.toString(), clockAnchor, PHASE_NAMES);
+        writer.openLog();
+        liveCsv.open();
+        Random random = new Random(13);
+        long nanoTime = System.nanoTime();
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            long intendedStartNanos = nanoTime + random.nextInt(10_000_000);
+            long startNanos = intendedStartNanos + random.nextInt(5_000_000);
+            long endNanos = startNanos + random.nextInt(500_000_000);
+            int phaseIndex = random.nextInt(PHASE_NAMES.size() + 1) - 1;
+            RequestType requestType = RequestType.values()[random.nextInt(RequestType.values().length)];
+            int responseCode = random.nextBoolean() ? 200 : 500;
+            writer.writeRecord(phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos);
+            liveCsv.writeRecord(phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos);
+            nanoTime += random.nextInt(1_000_000);
+        }
+        writer.closeLog();
+        liveCsv.close();
+
+        assertEquals(RECORD_COUNT, BinaryLogConverter.convert(binaryLogPath.toString(), convertedCsvPath.toString()));
+        List<String> liveLines = Files.readAllLines(liveCsvPath);
+        List<String> convertedLines = Files.readAllLines(convertedCsvPath);
+        assertEquals(liveLines.size(), convertedLines.size());
+        for (int i = 0; i < liveLines.size(); i++) {
+            assertEquals("Line " + i, liveLines.get(i), convertedLines.get(i));
+        }
+    }
+
+    @Test
+    public void emptyLogHasNoRecords() throws IOException {
+        Path logPath = folder.newFile().toPath();
+        BinaryLogWriter writer = createWriter(logPath);
+        writer.openLog();
+        writer.closeLog();
+
+        BinaryLogReader reader = new BinaryLogReader(logPath);
+        assertEquals(0, reader.readRecords(
+                (phaseIndex, requestType, responseCode, intendedStartNanos, startNanos, endNanos) -> {
+                    throw new AssertionError("No record was written");
+                }));
+    }
+
+    private static BinaryLogWriter createWriter(Path logPath) {
+        return new BinaryLogWriter(logPath.toString(), null, null, PHASE_NAMES,
+                ClockAnchor.forOffsets(ANCHOR_EPOCH_MILLIS), null, null);
+    }
+}
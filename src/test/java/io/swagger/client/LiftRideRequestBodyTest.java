@@ -0,0 +1,122 @@
+package io.swagger.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.swagger.client.model.LiftRide;
+import okio.Buffer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the hand-written lift ride encoding byte for byte against gson's default reflective
+ * serialization, which produced the request body before.
+ */
+public class LiftRideRequestBodyTest {
+    private static final String ALPHABET =
+            "ab<>&='\"\\\t\b\n\r\f\u0001\u001F\u007F\u00E9\u2028\u2029\u4E2D\uD83D\uDE00\uD800\uDC00Z09 ";
+    private static final char LONE_HIGH_SURROGATE = '\uD83D';
+    private static final char LONE_LOW_SURROGATE = '\uDE00';
+    private static final int RANDOM_RIDE_COUNT = 50_000;
+
+    private final Gson gson = new GsonBuilder().create();
+
+    @Test
+    public void plainRideMatchesGson() throws IOException {
+        assertEncodedAsGson(new LiftRide().resortID("Mission Ridge").dayID("1").skierID("12345").time("217")
+                .liftID("21"));
+    }
+
+    @Test
+    public void nullFieldsAreLeftOut() throws IOException {
+        assertEncodedAsGson(new LiftRide());
+        assertEncodedAsGson(new LiftRide().liftID("21"));
+        assertEncodedAsGson(new LiftRide().resortID("Mission Ridge").time("217"));
+        assertEncodedAsGson(new LiftRide().dayID("1").skierID("12345"));
+    }
+
+    @Test
+    public void escapesMatchGson() throws IOException {
+        assertEncodedAsGson(new LiftRide().resortID("quote \" backslash \\ slash /").dayID("\t\b\n\r\f"));
+        assertEncodedAsGson(new LiftRide().skierID("\u0000\u0001\u001F\u007F"));
+    }
+
+    @Test
+    public void htmlUnsafeCharsAreEscapedAsGsonDoes() throws IOException {
+        assertEncodedAsGson(new LiftRide().resortID("<script>alert('x')</script>").time("a=b&c=d"));
+    }
+
+    @Test
+    public void lineAndParagraphSeparatorsAreEscaped() throws IOException {
+        assertEncodedAsGson(new LiftRide().resortID("line\u2028paragraph\u2029end"));
+    }
+
+    @Test
+    public void nonAsciiIsWrittenAsUtf8() throws IOException {
+        assertEncodedAsGson(new LiftRide().resortID("Val d'Is\u00E8re").dayID("\u4E2D\u6587")
+                .skierID("\uD83D\uDE00\uD800\uDC00\uDBFF\uDFFF"));
+    }
+
+    @Test
+    public void unpairedSurrogatesMatchGson() throws IOException {
+        assertEncodedAsGson(new LiftRide().resortID("\uD83D").dayID("\uDE00").skierID("a\uDE00\uD83Db")
+                .time("end\uD83D").liftID("\uD83D\uD83D\uDE00"));
+    }
+
+    @Test
+    public void randomRidesMatchGson() throws IOException {
+        Random random = new Random(1);
+        for (int i = 0; i < RANDOM_RIDE_COUNT; i++) {
+            assertEncodedAsGson(new LiftRide()
+                    .resortID(randomValue(random))
+                    .dayID(randomValue(random))
+                    .skierID(randomValue(random))
+                    .time(randomValue(random))
+                    .liftID(randomValue(random)));
+        }
+    }
+
+    @Test
+    public void bodyCanBeWrittenAgain() throws IOException {
+        LiftRideRequestBody body = new LiftRideRequestBody(null, new LiftRide().resortID("R\u00E9sort").liftID("1"));
+        Buffer first = new Buffer();
+        body.writeTo(first);
+        Buffer second = new Buffer();
+        body.writeTo(second);
+        assertArrayEquals(first.readByteArray(), second.readByteArray());
+    }
+
+    private void assertEncodedAsGson(LiftRide liftRide) throws IOException {
+        String json = gson.toJson(liftRide);
+        byte[] expected = json.getBytes(StandardCharsets.UTF_8);
+        LiftRideRequestBody body = new LiftRideRequestBody(null, liftRide);
+        Buffer sink = new Buffer();
+        body.writeTo(sink);
+        long bytesWritten = sink.size();
+        assertArrayEquals("Encoding " + json, expected, sink.readByteArray());
+        assertEquals("Content length of " + json, bytesWritten, body.contentLength());
+    }
+
+    private static String randomValue(Random random) {
+        if (random.nextInt(6) == 0) {
+            return null;
+        }
+        StringBuilder value = new StringBuilder();
+        for (int length = random.nextInt(8); length > 0; length--) {
+            int choice = random.nextInt(ALPHABET.length() + 2);
+            if (choice == ALPHABET.length()) {
+                value.append(LONE_HIGH_SURROGATE);
+            } else if (choice == ALPHABET.length() + 1) {
+                value.append(LONE_LOW_SURROGATE);
+            } else {
+                value.append(ALPHABET.charAt(choice));
+            }
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package io.swagger.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import io.swagger.client.model.LiftRide;
+import io.swagger.client.model.SkierVertical;
+import io.swagger.client.model.TopTen;
+import io.swagger.client.model.TopTenTopTenSkiers;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the hand-written model codecs against gson's reflective adapters, writing with and
+ * without serializeNulls and reading back what the reflective adapters wrote.
+ */
+public class ModelTypeAdaptersTest {
+    private static final String ALPHABET =
+            "ab<>&='\"\\\t\n\u0001\u007F\u00E9\u2028\u2029\u4E2D\uD83D\uDE00Z09 ";
+    private static final int RANDOM_MODEL_COUNT = 20_000;
+    private static final int MAX_TOP_TEN_SKIERS = 10;
+
+    private final Gson reflective = new GsonBuilder().create();
+    private final Gson reflectiveWithNulls = new GsonBuilder().serializeNulls().create();
+    private final Gson adapted = ModelTypeAdapters.register(new GsonBuilder()).create();
+    private final Gson adaptedWithNulls = ModelTypeAdapters.register(new GsonBuilder()).serializeNulls().create();
+
+    @Test
+    public void liftRidesMatchReflectiveAdapter() {
+        Random random = new Random(1);
+        for (int i = 0; i < RANDOM_MODEL_COUNT; i++) {
+            assertCodecMatches(new LiftRide()
+                    .resortID(randomValue(random))
+                    .dayID(randomValue(random))
+                    .skierID(randomValue(random))
+                    .time(randomValue(random))
+                    .liftID(randomValue(random)), LiftRide.class);
+        }
+    }
+
+    @Test
+    public void skierVerticalsMatchReflectiveAdapter() {
+        Random random = new Random(2);
+        for (int i = 0; i < RANDOM_MODEL_COUNT; i++) {
+            assertCodecMatches(new SkierVertical()
+                    .resortID(randomValue(random))
+                    .totalVert(random.nextInt(3) == 0 ? null : random.nextInt()), SkierVertical.class);
+        }
+    }
+
+    @Test
+    public void topTensMatchReflectiveAdapter() {
+        Random random = new Random(3);
+        for (int i = 0; i < RANDOM_MODEL_COUNT; i++) {
+            TopTen topTen = new TopTen();
+            if (random.nextInt(5) != 0) {
+                topTen.setTopTenSkiers(new ArrayList<>());
+                for (int skier = random.nextInt(MAX_TOP_TEN_SKIERS + 1); skier > 0; skier--) {
+                    topTen.addTopTenSkiersItem(random.nextInt(8) == 0 ? null : new TopTenTopTenSkiers()
+                            .skierID(randomValue(random))
+                            .vertcialTotal(random.nextInt(4) == 0 ? null : random.nextInt(100_000)));
+                }
+            }
+            assertCodecMatches(topTen, TopTen.class);
+        }
+    }
+
+    @Test
+    public void looseInputReadsAsReflectiveAdapterReadsIt() {
+        String[] inputs = {
+                "{\"resortID\":12,\"totalVert\":\"34\",\"extra\":{\"a\":[1,2]}}",
+                "{\"resortID\":true,\"totalVert\":null}",
+                "null",
+                "{}"
+        };
+        for (String input : inputs) {
+            assertEquals(input, reflective.fromJson(input, SkierVertical.class),
+                    adapted.fromJson(input, SkierVertical.class));
+        }
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void fractionalIntegerIsRejected() {
+        adapted.fromJson("{\"totalVert\":1.5}", SkierVertical.class);
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void nonNumericIntegerIsRejected() {
+        adapted.fromJson("{\"totalVert\":\"x\"}", SkierVertical.class);
+    }
+
+    private <T> void assertCodecMatches(T model, Class<T> modelClass) {
+        String json = reflective.toJson(model);
+        assertEquals(json, adapted.toJson(model));
+        assertEquals(reflectiveWithNulls.toJson(model), adaptedWithNulls.toJson(model));
+        assertEquals(json, reflective.fromJson(json, modelClass), adapted.fromJson(json, modelClass));
+    }
+
+    private static String randomValue(Random random) {
+        if (random.nextInt(6) == 0) {
+            return null;
+        }
+        StringBuilder value = new StringBuilder();
+        for (int length = random.nextInt(8); length > 0; length--) {
+            value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return value.toString();
+    }
+}
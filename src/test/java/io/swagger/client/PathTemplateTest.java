@@ -0,0 +1,161 @@
+package io.swagger.client;
+
+import org.junit.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks PathTemplate against the URLEncoder escaping and replaceAll expansion that the generated
+ * SkiersApi used before the paths were precompiled.
+ */
+public class PathTemplateTest {
+    private static final String SKIER_DAY_VERTICAL_TEMPLATE = "/skiers/{resortID}/days/{dayID}/skiers/{skierID}";
+    private static final String SKIER_RESORT_TOTALS_TEMPLATE = "/skiers/{skierID}/vertical";
+    private static final int RANDOM_VALUE_COUNT = 100_000;
+    private static final long SEED = 7L;
+
+    @Test
+    public void escapeMatchesUrlEncoderForAscii() throws UnsupportedEncodingException {
+        for (char c = 0; c < 0x80; c++) {
+            assertEscapedAsUrlEncoder(String.valueOf(c));
+        }
+        assertEscapedAsUrlEncoder("Mission Ridge");
+        assertEscapedAsUrlEncoder("a+b c/d?e=f&g#h%i~j");
+        assertEscapedAsUrlEncoder("");
+    }
+
+    @Test
+    public void escapeMatchesUrlEncoderForEveryBmpChar() throws UnsupportedEncodingException {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            assertEscapedAsUrlEncoder(String.valueOf((char) c));
+            assertEscapedAsUrlEncoder("x" + (char) c + "y");
+        }
+    }
+
+    @Test
+    public void escapeMatchesUrlEncoderForSupplementaryChars() throws UnsupportedEncodingException {
+        for (int codePoint = Character.MIN_SUPPLEMENTARY_CODE_POINT; codePoint <= Character.MAX_CODE_POINT;
+                codePoint += 0x3f) {
+            assertEscapedAsUrlEncoder(new String(Character.toChars(codePoint)));
+        }
+        assertEscapedAsUrlEncoder(new String(Character.toChars(Character.MAX_CODE_POINT)));
+        assertEscapedAsUrlEncoder("ski \uD83C\uDFBF run");
+    }
+
+    @Test
+    public void escapeMatchesUrlEncoderForUnpairedSurrogates() throws UnsupportedEncodingException {
+        assertEscapedAsUrlEncoder("\uD83C");
+        assertEscapedAsUrlEncoder("\uDFBF");
+        assertEscapedAsUrlEncoder("a\uD83Cb");
+        assertEscapedAsUrlEncoder("a\uDFBF\uD83Cb");
+        assertEscapedAsUrlEncoder("\uD83C\uD83C\uDFBF");
+        assertEscapedAsUrlEncoder("\uD83C\uDFBF\uDFBF");
+        assertEscapedAsUrlEncoder("end\uD83C");
+    }
+
+    @Test
+    public void escapeMatchesUrlEncoderForRandomValues() throws UnsupportedEncodingException {
+        Random random = new Random(SEED);
+        for (int i = 0; i < RANDOM_VALUE_COUNT; i++) {
+            assertEscapedAsUrlEncoder(randomValue(random));
+        }
+    }
+
+    @Test
+    public void escapeReturnsPlainValuesAsTheyAre() {
+        String value = "Mission-Ridge_1.0*";
+        assertSame(value, PathTemplate.escape(value));
+    }
+
+    @Test
+    public void skierDayVerticalPathMatchesReplaceAllExpansion() throws UnsupportedEncodingException {
+        PathTemplate template = PathTemplate.compile(SKIER_DAY_VERTICAL_TEMPLATE);
+        assertEquals("/skiers/Mission%20Ridge/days/1/skiers/12345", template.expand("Mission Ridge", "1", "12345"));
+
+        Random random = new Random(SEED);
+        for (int i = 0; i < RANDOM_VALUE_COUNT; i++) {
+            String resortId = randomValue(random);
+            String dayId = randomValue(random);
+            String skierId = randomValue(random);
+            String expected = SKIER_DAY_VERTICAL_TEMPLATE
+                    .replaceAll("\\{" + "resortID" + "\\}", urlEncoderEscape(resortId))
+                    .replaceAll("\\{" + "dayID" + "\\}", urlEncoderEscape(dayId))
+                    .replaceAll("\\{" + "skierID" + "\\}", urlEncoderEscape(skierId));
+            assertEquals(expected, template.expand(resortId, dayId, skierId));
+        }
+    }
+
+    @Test
+    public void skierResortTotalsPathMatchesReplaceAllExpansion() throws UnsupportedEncodingException {
+        PathTemplate template = PathTemplate.compile(SKIER_RESORT_TOTALS_TEMPLATE);
+        assertEquals("/skiers/12345/vertical", template.expand("12345"));
+
+        Random random = new Random(SEED);
+        for (int i = 0; i < RANDOM_VALUE_COUNT; i++) {
+            String skierId = randomValue(random);
+            String expected = SKIER_RESORT_TOTALS_TEMPLATE
+                    .replaceAll("\\{" + "skierID" + "\\}", urlEncoderEscape(skierId));
+            assertEquals(expected, template.expand(skierId));
+        }
+    }
+
+    @Test
+    public void repeatedVariableTakesOneValue() {
+        PathTemplate template = PathTemplate.compile("/a/{x}/b/{y}/{x}");
+        assertEquals("/a/1%2F2/b/3/1%2F2", template.expand("1/2", "3"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongValueCountIsRejected() {
+        PathTemplate.compile(SKIER_DAY_VERTICAL_TEMPLATE).expand("Mission Ridge", "1");
+    }
+
+    private static void assertEscapedAsUrlEncoder(String value) throws UnsupportedEncodingException {
+        String expected = urlEncoderEscape(value);
+        String escaped = PathTemplate.escape(value);
+        if (!expected.equals(escaped)) {
+            assertEquals("Escaping " + codePoints(value), expected, escaped);
+        }
+    }
+
+    /**
+     * How ApiClient.escapeString escaped values before PathTemplate.
+     */
+    private static String urlEncoderEscape(String value) throws UnsupportedEncodingException {
+        return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+    }
+
+    private static String randomValue(Random random) {
+        StringBuilder value = new StringBuilder();
+        for (int length = random.nextInt(10); length > 0; length--) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    value.append((char) random.nextInt(0x80));
+                    break;
+                case 1:
+                    value.append((char) random.nextInt(0x800));
+                    break;
+                case 2:
+                    value.append((char) random.nextInt(Character.MAX_VALUE + 1));
+                    break;
+                default:
+                    value.appendCodePoint(Character.MIN_SUPPLEMENTARY_CODE_POINT
+                            + random.nextInt(Character.MAX_CODE_POINT + 1 - Character.MIN_SUPPLEMENTARY_CODE_POINT));
+            }
+        }
+        return value.toString();
+    }
+
+    private static String codePoints(String value) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            description.append(String.format("U+%04X ", (int) value.charAt(i)));
+        }
+        return description.toString().trim();
+    }
+}